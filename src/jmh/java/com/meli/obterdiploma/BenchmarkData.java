@@ -0,0 +1,60 @@
+package com.meli.obterdiploma;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Dados sinteticos e deterministas para os benchmarks: o mesmo indice sempre gera o mesmo aluno.
+ */
+public final class BenchmarkData {
+
+    private static final String[] SUBJECTS = {"Math", "Physical Education", "Chemistry", "History", "Spanish"};
+
+    private BenchmarkData() {
+    }
+
+    public static StudentDTO student(Long id, int seed) {
+        List<SubjectDTO> subjects = new ArrayList<>(SUBJECTS.length);
+        for (int i = 0; i < SUBJECTS.length; i++) {
+            subjects.add(new SubjectDTO(SUBJECTS[i], (double) ((seed * 31 + i * 17) % 1001) / 100));
+        }
+
+        return new StudentDTO(id, "Student " + seed, null, null, subjects);
+    }
+
+    public static List<StudentDTO> cohort(int size) {
+        List<StudentDTO> students = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) students.add(student((long) i, i));
+        return students;
+    }
+
+    /**
+     * Diretorio temporario com um users.json vazio, para o StudentDAO nao tocar nos dados do projeto.
+     */
+    public static Path emptyDataDir() {
+        try {
+            Path dir = Files.createTempDirectory("obterdiploma-jmh");
+            Files.writeString(dir.resolve("users.json"), "[]");
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void delete(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.meli.obterdiploma.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura e escrita Jackson de um users.json completo, com o mesmo tipo usado pelo snapshot JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentJsonBenchmark {
+
+    @Param({"100", "10000"})
+    int cohortSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<StudentDTO> students;
+    private byte[] usersJson;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.students = BenchmarkData.cohort(this.cohortSize);
+        this.usersJson = this.objectMapper.writeValueAsBytes(this.students);
+    }
+
+    @Benchmark
+    public Set<StudentDTO> readUsersJson() throws IOException {
+        return this.objectMapper.readValue(this.usersJson, new TypeReference<Set<StudentDTO>>(){});
+    }
+
+    @Benchmark
+    public byte[] writeUsersJson() throws IOException {
+        return this.objectMapper.writeValueAsBytes(this.students);
+    }
+}
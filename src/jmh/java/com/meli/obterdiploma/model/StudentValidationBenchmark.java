@@ -0,0 +1,53 @@
+package com.meli.obterdiploma.model;
+
+import com.meli.obterdiploma.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation de um StudentDTO valido e de um com violacoes no nome e nas notas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private StudentDTO valid;
+    private StudentDTO invalid;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.factory = Validation.buildDefaultValidatorFactory();
+        this.validator = this.factory.getValidator();
+
+        this.valid = BenchmarkData.student(null, 42);
+        this.invalid = new StudentDTO(null, "lowercase name", null, null, List.of(new SubjectDTO("math", 11.123)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentDTO>> validateValid() {
+        return this.validator.validate(this.valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentDTO>> validateInvalid() {
+        return this.validator.validate(this.invalid);
+    }
+}
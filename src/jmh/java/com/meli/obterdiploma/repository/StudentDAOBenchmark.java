@@ -0,0 +1,107 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.BenchmarkData;
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.StudentDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findById, save e delete do StudentDAO com coortes de tamanhos diferentes, nos dois modos de
+ * persistencia. Cada trial usa um diretorio temporario proprio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentDAOBenchmark {
+
+    @Param({"1000", "100000"})
+    int cohortSize;
+
+    @Param({"journal", "write-behind"})
+    String persistenceMode;
+
+    private Path dir;
+    private StudentDAO dao;
+
+    // Ids vivos da coorte, usados por deleteAndRegister.
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.dir = BenchmarkData.emptyDataDir();
+
+        Properties properties = new Properties();
+        properties.setProperty("api.data.dir", this.dir.toString());
+        properties.setProperty("api.persistence.mode", this.persistenceMode);
+
+        this.dao = new StudentDAO(properties);
+        this.dao.saveAll(BenchmarkData.cohort(this.cohortSize));
+
+        this.ids = new long[this.cohortSize];
+        for (int i = 0; i < this.cohortSize; i++) this.ids[i] = i + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.dao.shutdown();
+        BenchmarkData.delete(this.dir);
+    }
+
+    // Os ids de 1 a cohortSize so sao substituidos por deleteAndRegister, que roda em outro trial.
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, this.cohortSize + 1);
+    }
+
+    @Benchmark
+    public StudentDTO findById() {
+        return this.dao.findById(this.randomId());
+    }
+
+    /**
+     * Id inexistente pelas duas APIs: a que lanca StudentNotFoundException e a com Optional.
+     */
+    @Benchmark
+    public Object findByIdMissing() {
+        try {
+            return this.dao.findById(-this.randomId());
+        } catch (StudentNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Optional<StudentDTO> findMissing() {
+        return this.dao.find(-this.randomId());
+    }
+
+    @Benchmark
+    public StudentDTO saveExisting() {
+        long id = this.randomId();
+        StudentDTO stu = BenchmarkData.student(id, (int) id + 1);
+        this.dao.save(stu);
+        return stu;
+    }
+
+    /**
+     * Remove um aluno e registra outro no lugar (com id novo, ids nao sao reaproveitados), para que
+     * a coorte mantenha o tamanho; o custo do delete e a diferenca para saveExisting.
+     */
+    @Benchmark
+    public long deleteAndRegister() {
+        int slot = ThreadLocalRandom.current().nextInt(this.ids.length);
+        this.dao.delete(this.ids[slot]);
+
+        StudentDTO stu = BenchmarkData.student(null, slot);
+        this.dao.save(stu);
+        return this.ids[slot] = stu.getId();
+    }
+}
@@ -0,0 +1,76 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.BenchmarkData;
+import com.meli.obterdiploma.model.DiplomaAnalysisDTO;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.repository.StudentDAO;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * analyzeScores de um aluno e em lote, sobre um StudentDAO real com a coorte em memoria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObterDiplomaServiceBenchmark {
+
+    @Param({"10000"})
+    int cohortSize;
+
+    @Param({"500"})
+    int batchSize;
+
+    private Path dir;
+    private StudentDAO dao;
+    private ObterDiplomaService service;
+    private List<Long> batch;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.dir = BenchmarkData.emptyDataDir();
+
+        Properties properties = new Properties();
+        properties.setProperty("api.data.dir", this.dir.toString());
+
+        // O construtor com Properties e package-private no repositorio.
+        Constructor<StudentDAO> constructor = StudentDAO.class.getDeclaredConstructor(Properties.class);
+        constructor.setAccessible(true);
+        this.dao = constructor.newInstance(properties);
+        this.dao.saveAll(BenchmarkData.cohort(this.cohortSize));
+
+        this.service = new ObterDiplomaService();
+        this.service.studentDAO = this.dao;
+
+        this.batch = LongStream.rangeClosed(1, this.batchSize).boxed().collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.dao.flush();
+        BenchmarkData.delete(this.dir);
+    }
+
+    @Benchmark
+    public Optional<StudentDTO> analyzeScores() {
+        return this.service.analyzeScores(ThreadLocalRandom.current().nextLong(1, this.cohortSize + 1));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<DiplomaAnalysisDTO> analyzeScoresBatch() {
+        return this.service.analyzeScores(this.batch);
+    }
+}
@@ -0,0 +1,57 @@
+package com.meli.obterdiploma.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Codificacoes binarias para os mesmos DTOs do JSON, escolhidas pelo Accept/Content-Type.
+ * Os mappers saem do builder configurado pelo Spring Boot, entao seguem as mesmas regras
+ * de serializacao do JSON (@JsonIgnore, @JsonInclude, spring.jackson.*). O JSON continua
+ * sendo o padrao para quem nao pede outro formato.
+ *
+ * O Jackson2ObjectMapperBuilder do Spring Boot e um bean prototype: cada metodo recebe o seu,
+ * entao trocar a factory aqui nao afeta o mapper do JSON.
+ *
+ * Como o corpo depende do Accept, toda resposta dos controllers leva Vary: Accept, inclusive os
+ * 304; os ETags por formato ficam em RepresentationETags.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod) response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        });
+    }
+}
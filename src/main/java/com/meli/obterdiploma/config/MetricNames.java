@@ -0,0 +1,13 @@
+package com.meli.obterdiploma.config;
+
+/**
+ * Nomes de metricas registradas por mais de uma camada, para que nenhuma dependa da outra so pelo nome.
+ */
+public final class MetricNames {
+
+    // Falhas de validacao por anotacao, contadas no StudentService e no ObterDiplomaExceptionController.
+    public static final String VALIDATION_FAILURES = "students.validation.failures";
+
+    private MetricNames() {
+    }
+}
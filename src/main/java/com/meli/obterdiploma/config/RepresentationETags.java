@@ -0,0 +1,50 @@
+package com.meli.obterdiploma.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * ETags por representacao. O mesmo aluno pode sair em JSON, CBOR ou Smile; se as tres respostas
+ * tivessem o mesmo ETag forte, um cache poderia revalidar a copia CBOR com um 304 dado a um
+ * cliente JSON. O formato binario negociado entra no ETag; o JSON fica com o ETag original.
+ */
+@Component
+public class RepresentationETags {
+
+    private static final List<MediaType> BINARY = List.of(MediaType.APPLICATION_CBOR, MessageConverterConfig.APPLICATION_SMILE);
+
+    @Autowired
+    ContentNegotiationManager contentNegotiationManager;
+
+    public boolean checkNotModified(NativeWebRequest request, String etag) {
+        return request.checkNotModified(this.etag(request, etag));
+    }
+
+    /**
+     * Segue a mesma ordem dos conversores: o primeiro tipo aceito decide, e curingas caem no JSON.
+     */
+    String etag(NativeWebRequest request, String etag) {
+        List<MediaType> accepted;
+        try {
+            accepted = this.contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return etag;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) return etag;
+            for (MediaType binary : BINARY) {
+                if (type.isCompatibleWith(binary)) return etag + "-" + binary.getSubtype();
+            }
+        }
+
+        return etag;
+    }
+}
@@ -0,0 +1,19 @@
+package com.meli.obterdiploma.controller;
+
+import com.meli.obterdiploma.model.CohortStatisticsDTO;
+import com.meli.obterdiploma.service.ICohortStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class CohortStatisticsController {
+
+    @Autowired
+    ICohortStatisticsService service;
+
+    @GetMapping("/statistics")
+    public CohortStatisticsDTO getStatistics() {
+        return service.getStatistics();
+    }
+}
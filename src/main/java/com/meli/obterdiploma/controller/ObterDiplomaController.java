@@ -1,9 +1,22 @@
 package com.meli.obterdiploma.controller;
 
+import com.meli.obterdiploma.config.RepresentationETags;
+import com.meli.obterdiploma.exception.InvalidBatchRequestException;
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.DiplomaAnalysisDTO;
 import com.meli.obterdiploma.model.StudentDTO;
 import com.meli.obterdiploma.service.IObterDiplomaService;
+import com.meli.obterdiploma.service.ObterDiplomaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 public class ObterDiplomaController {
@@ -11,8 +24,39 @@ public class ObterDiplomaController {
     @Autowired
     IObterDiplomaService service;
 
+    @Autowired
+    RepresentationETags etags;
+
     @GetMapping("/analyzeScores/{studentId}")
-    public StudentDTO analyzeScores(@PathVariable Long studentId) {
-        return service.analyzeScores(studentId);
+    public ResponseEntity<?> analyzeScores(@PathVariable Long studentId, NativeWebRequest request) {
+        Optional<StudentDTO> found = service.analyzeScores(studentId);
+        if (found.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).body(StudentNotFoundException.error(studentId));
+
+        StudentDTO stu = found.get();
+        return etags.checkNotModified(request, stu.etag()) ? null : ResponseEntity.ok(stu);
+    }
+
+    /**
+     * Intervalos e all=true sao paginados: cada resposta traz ate {@code limit} alunos e, se a pagina
+     * veio cheia, um header Link com rel="next" apontando para o proximo {@code from}.
+     */
+    @GetMapping("/analyzeScores")
+    public ResponseEntity<List<DiplomaAnalysisDTO>> analyzeScores(@RequestParam(required = false) List<Long> ids,
+                                                                  @RequestParam(required = false) Long from,
+                                                                  @RequestParam(required = false) Long to,
+                                                                  @RequestParam(defaultValue = "false") boolean all,
+                                                                  @RequestParam(defaultValue = "500") int limit) {
+        if (ids != null) return ResponseEntity.ok(service.analyzeScores(ids));
+        if (!all && from == null && to == null) {
+            throw new InvalidBatchRequestException("Informe os ids, um intervalo (from/to) ou all=true.");
+        }
+
+        List<DiplomaAnalysisDTO> page = service.analyzeScoresInRange(from, all ? null : to, limit);
+        if (page.isEmpty() || page.size() < Math.min(limit, ObterDiplomaService.MAX_BATCH_SIZE)) return ResponseEntity.ok(page);
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("from", page.get(page.size() - 1).getStudentId() + 1)
+                .toUriString();
+        return ResponseEntity.ok().header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"").body(page);
     }
 }
@@ -1,7 +1,9 @@
 package com.meli.obterdiploma.controller;
 
+import com.meli.obterdiploma.config.MetricNames;
 import com.meli.obterdiploma.exception.ObterDiplomaException;
 import com.meli.obterdiploma.model.ErrorDTO;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -19,6 +21,9 @@ public class ObterDiplomaExceptionController {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     protected ResponseEntity<ErrorDTO> handleValidationExceptions(MethodArgumentNotValidException e) {
+        e.getBindingResult().getFieldErrors().forEach(fieldError ->
+                Metrics.counter(MetricNames.VALIDATION_FAILURES, "constraint", String.valueOf(fieldError.getCode())).increment());
+
         ErrorDTO error = new ErrorDTO("MethodArgumentNotValidException", e.getBindingResult().getFieldError().getDefaultMessage());
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -0,0 +1,37 @@
+package com.meli.obterdiploma.controller;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.StudentRankDTO;
+import com.meli.obterdiploma.service.IRankingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/ranking")
+public class RankingController {
+
+    @Autowired
+    IRankingService service;
+
+    @GetMapping("/top")
+    public List<StudentDTO> getTop(@RequestParam(defaultValue = "10") int limit) {
+        return service.getTop(limit);
+    }
+
+    @GetMapping("/bottom")
+    public List<StudentDTO> getBottom(@RequestParam(defaultValue = "10") int limit) {
+        return service.getBottom(limit);
+    }
+
+    @GetMapping("/honors")
+    public List<StudentDTO> getHonors(@RequestParam(defaultValue = "50") int limit) {
+        return service.getHonors(limit);
+    }
+
+    @GetMapping("/rank/{studentId}")
+    public StudentRankDTO getRank(@PathVariable Long studentId) {
+        return service.getRank(studentId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.meli.obterdiploma.controller;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.service.IReactiveStudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * Os mesmos endpoints de StudentController e ObterDiplomaController sob /reactive, devolvendo
+ * Mono/Flux: a thread do servlet e liberada enquanto a escrita roda e a resposta e concluida
+ * de forma assincrona. Com Accept: application/x-ndjson a lista de alunos e transmitida
+ * aluno a aluno em vez de montada inteira em memoria.
+ */
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveStudentController {
+
+    @Autowired
+    IReactiveStudentService studentService;
+
+    @PostMapping("/student/registerStudent")
+    public Mono<ResponseEntity<Void>> registerStudent(@RequestBody @Valid StudentDTO stu,
+                                                   @RequestParam(defaultValue = "false") boolean durable) {
+        return this.studentService.create(stu, durable).map(created -> ResponseEntity.ok().<Void>build());
+    }
+
+    @GetMapping("/student/getStudent/{id}")
+    public Mono<StudentDTO> getStudent(@PathVariable Long id) {
+        return this.studentService.read(id);
+    }
+
+    @PostMapping("/student/modifyStudent")
+    public Mono<ResponseEntity<Void>> modifyStudent(@RequestBody @Valid StudentDTO stu,
+                                                 @RequestParam(defaultValue = "false") boolean durable) {
+        return this.studentService.update(stu, durable).map(updated -> ResponseEntity.ok().<Void>build());
+    }
+
+    @GetMapping("/student/removeStudent/{id}")
+    public Mono<ResponseEntity<Void>> removeStudent(@PathVariable Long id,
+                                                 @RequestParam(defaultValue = "false") boolean durable) {
+        return this.studentService.delete(id, durable).thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    @GetMapping(value = "/student/listStudents", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StudentDTO> listStudents() {
+        return this.studentService.getAll();
+    }
+
+    @GetMapping("/analyzeScores/{studentId}")
+    public Mono<StudentDTO> analyzeScores(@PathVariable Long studentId) {
+        return this.studentService.read(studentId);
+    }
+}
@@ -1,47 +1,180 @@
 package com.meli.obterdiploma.controller;
 
+import com.meli.obterdiploma.config.RepresentationETags;
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.BulkRegistrationDTO;
+import com.meli.obterdiploma.model.ImportSummaryDTO;
 import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.StudentPageDTO;
 import com.meli.obterdiploma.service.IStudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/student")
 public class StudentController {
 
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     @Autowired
     IStudentService studentService;
 
+    @Autowired
+    RepresentationETags etags;
+
     @PostMapping("/registerStudent")
-    public ResponseEntity<?> registerStudent(@RequestBody @Valid StudentDTO stu) {
+    public ResponseEntity<?> registerStudent(@RequestBody @Valid StudentDTO stu,
+                                             @RequestParam(defaultValue = "false") boolean durable) {
         this.studentService.create(stu);
+        if (durable) this.studentService.sync();
         return ResponseEntity.ok(null);
     }
 
+    @PostMapping("/registerStudents")
+    public BulkRegistrationDTO registerStudents(@RequestBody List<StudentDTO> students,
+                                                @RequestParam(defaultValue = "false") boolean durable) {
+        BulkRegistrationDTO result = this.studentService.createAll(students);
+        if (durable) this.studentService.sync();
+        return result;
+    }
+
+    /**
+     * Com If-None-Match igual a versao atual do aluno responde 304, sem serializar o corpo.
+     */
     @GetMapping("/getStudent/{id}")
-    public StudentDTO getStudent(@PathVariable Long id) {
-        return this.studentService.read(id);
+    public ResponseEntity<?> getStudent(@PathVariable Long id, NativeWebRequest request) {
+        Optional<StudentDTO> found = this.studentService.find(id);
+        if (found.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).body(StudentNotFoundException.error(id));
+
+        StudentDTO stu = found.get();
+        return this.etags.checkNotModified(request, stu.etag()) ? null : ResponseEntity.ok(stu);
     }
 
     @PostMapping("/modifyStudent")
-    public ResponseEntity<?> modifyStudent(@RequestBody @Valid StudentDTO stu) {
+    public ResponseEntity<?> modifyStudent(@RequestBody @Valid StudentDTO stu,
+                                           @RequestParam(defaultValue = "false") boolean durable) {
         this.studentService.update(stu);
+        if (durable) this.studentService.sync();
         return ResponseEntity.ok(null);
     }
 
     @GetMapping("/removeStudent/{id}")
-    public ResponseEntity<?> removeStudent(@PathVariable Long id) {
+    public ResponseEntity<?> removeStudent(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "false") boolean durable) {
         this.studentService.delete(id);
+        if (durable) this.studentService.sync();
         return ResponseEntity.ok(null);
     }
 
+    /**
+     * O ETag e a versao da colecao, lida antes dos alunos: uma escrita no meio so faz o proximo
+     * pedido baixar a lista de novo, nunca guarda uma lista nova com um ETag antigo.
+     */
     @GetMapping("/listStudents")
-    public Set<StudentDTO> listStudents() {
+    public Set<StudentDTO> listStudents(NativeWebRequest request) {
+        if (this.etags.checkNotModified(request, String.valueOf(this.studentService.getVersion()))) return null;
         return this.studentService.getAll();
     }
 
+    @GetMapping("/listStudentsPage")
+    public StudentPageDTO listStudentsPage(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "50") int limit,
+                                           @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return this.studentService.getPage(cursor, limit, includeTotal);
+    }
+
+    /**
+     * Exporta todos os alunos em NDJSON, escrevendo cada um assim que e lido, sem montar a
+     * lista inteira. Com Accept-Encoding: gzip a resposta sai comprimida.
+     */
+    @GetMapping(value = "/exportStudents", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return response.body(out -> {
+            if (!gzip) {
+                this.studentService.exportAll(out);
+                return;
+            }
+
+            GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            this.studentService.exportAll(compressed);
+            compressed.finish();
+        });
+    }
+
+    /**
+     * Importa um NDJSON (um aluno por linha) lido direto do corpo do pedido, que tambem pode vir
+     * com Content-Encoding: gzip. Devolve quantas linhas foram gravadas e rejeitadas.
+     */
+    @PostMapping(value = "/importStudents", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportSummaryDTO importStudents(InputStream body,
+                                           @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+                                           @RequestParam(defaultValue = "false") boolean durable) throws IOException {
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, GZIP_BUFFER_SIZE) : body;
+
+        ImportSummaryDTO result = this.studentService.importAll(in);
+        if (durable) this.studentService.sync();
+        return result;
+    }
+
+    @GetMapping("/searchStudents")
+    public List<StudentDTO> searchStudents(@RequestParam String name,
+                                           @RequestParam(defaultValue = "false") boolean prefix,
+                                           @RequestParam(defaultValue = "50") int limit) {
+        return this.studentService.search(name, prefix, limit);
+    }
+
+    /**
+     * Le o Accept-Encoding como lista de codificacoes com q-values: q=0 recusa a codificacao, e
+     * sem gzip na lista vale o que foi dito para "*".
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (!param.regionMatches(true, 0, "q=", 0, 2)) continue;
+                try {
+                    q = Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    q = 0.0;
+                }
+            }
+
+            if (name.equals("gzip") || name.equals("x-gzip")) gzip = q;
+            else if (name.equals("*")) any = q;
+        }
+
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
 }
@@ -0,0 +1,29 @@
+package com.meli.obterdiploma.controller;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectHistogramDTO;
+import com.meli.obterdiploma.service.ISubjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/subject")
+public class SubjectController {
+
+    @Autowired
+    ISubjectService service;
+
+    @GetMapping("/{subject}/students")
+    public List<StudentDTO> getStudents(@PathVariable String subject,
+                                        @RequestParam(required = false) Double below,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        return service.getStudents(subject, below, limit);
+    }
+
+    @GetMapping("/{subject}/histogram")
+    public SubjectHistogramDTO getHistogram(@PathVariable String subject, @RequestParam(defaultValue = "1") double bucketWidth) {
+        return service.getHistogram(subject, bucketWidth);
+    }
+}
@@ -0,0 +1,10 @@
+package com.meli.obterdiploma.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidBatchRequestException extends ObterDiplomaException {
+
+    public InvalidBatchRequestException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,10 @@
+package com.meli.obterdiploma.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends ObterDiplomaException {
+
+    public InvalidCursorException(String cursor) {
+        super("O cursor " + cursor + " é inválido.", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,10 @@
+package com.meli.obterdiploma.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidScoreException extends ObterDiplomaException {
+
+    public InvalidScoreException(Double score) {
+        super("A nota " + score + " é inválida.", HttpStatus.BAD_REQUEST);
+    }
+}
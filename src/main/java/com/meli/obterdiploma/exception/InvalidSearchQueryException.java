@@ -0,0 +1,10 @@
+package com.meli.obterdiploma.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidSearchQueryException extends ObterDiplomaException {
+
+    public InvalidSearchQueryException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -2,18 +2,30 @@ package com.meli.obterdiploma.exception;
 
 
 import com.meli.obterdiploma.model.ErrorDTO;
-import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
-@Getter
+/**
+ * Erro de dominio que vira uma resposta HTTP no ObterDiplomaExceptionController. Nao captura a
+ * pilha, que nunca e usada nessa resposta e e o custo dominante de lancar a excecao; o ErrorDTO
+ * so e montado quando a resposta e escrita.
+ */
 public class ObterDiplomaException extends RuntimeException {
 
-    private final ErrorDTO error;
     private final HttpStatus status;
+    private ErrorDTO error;
 
     public ObterDiplomaException(String message, HttpStatus status) {
-        this.error = new ErrorDTO(this.getClass().getSimpleName(), message);
+        super(message, null, false, false);
         this.status = status;
     }
 
+    public HttpStatus getStatus() {
+        return this.status;
+    }
+
+    public ErrorDTO getError() {
+        if (this.error == null) this.error = new ErrorDTO(this.getClass().getSimpleName(), this.getMessage());
+        return this.error;
+    }
+
 }
\ No newline at end of file
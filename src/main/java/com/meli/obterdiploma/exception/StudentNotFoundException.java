@@ -1,10 +1,22 @@
 package com.meli.obterdiploma.exception;
 
+import com.meli.obterdiploma.model.ErrorDTO;
 import org.springframework.http.HttpStatus;
 
 public class StudentNotFoundException extends ObterDiplomaException {
 
     public StudentNotFoundException(Long id) {
-        super("O aluno com Id " + id + " não está registrado.", HttpStatus.NOT_FOUND);
+        super(message(id), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * O mesmo erro da excecao, para quem busca com Optional e nao precisa lanca-la.
+     */
+    public static ErrorDTO error(Long id) {
+        return new ErrorDTO(StudentNotFoundException.class.getSimpleName(), message(id));
+    }
+
+    private static String message(Long id) {
+        return "O aluno com Id " + id + " não está registrado.";
     }
 }
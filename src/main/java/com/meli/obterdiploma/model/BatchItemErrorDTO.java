@@ -0,0 +1,19 @@
+package com.meli.obterdiploma.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemErrorDTO {
+
+    // Posicao do item rejeitado no lote enviado.
+    long index;
+
+    List<ErrorDTO> errors;
+}
@@ -0,0 +1,19 @@
+package com.meli.obterdiploma.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationDTO {
+
+    // Ids atribuidos aos alunos validos, na ordem em que foram enviados.
+    List<Long> registeredIds;
+
+    List<BatchItemErrorDTO> errors;
+}
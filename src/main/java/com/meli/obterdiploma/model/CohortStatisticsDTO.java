@@ -0,0 +1,35 @@
+package com.meli.obterdiploma.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CohortStatisticsDTO {
+
+    // Total de alunos registrados.
+    long students;
+
+    // Alunos com ao menos uma nota; so eles entram na media, desvio e percentis.
+    long scoredStudents;
+
+    // Media e desvio padrao das medias dos alunos. Ausentes quando nenhum aluno tem nota.
+    Double averageScore;
+    Double standardDeviation;
+
+    // Percentis das medias dos alunos (p25, p50, p75, p90, p99), com precisao de centesimos.
+    Map<String, Double> percentiles;
+
+    // Alunos com media acima de 9, os que recebem "Parabéns!".
+    long honors;
+
+    List<SubjectStatisticsDTO> subjects;
+}
@@ -0,0 +1,32 @@
+package com.meli.obterdiploma.model;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Mensagem do diploma para o aluno. Calculada uma vez, quando o aluno e gravado, e guardada
+ * junto com o registro.
+ */
+public final class Diploma {
+
+    // Media a partir da qual (exclusive) o aluno recebe "Parabéns!".
+    public static final double HONORS_THRESHOLD = 9;
+
+    // A mensagem fica gravada, entao o formato da media nao pode depender do locale do servidor.
+    private static final DecimalFormatSymbols PT_BR = DecimalFormatSymbols.getInstance(new Locale("pt", "BR"));
+
+    private Diploma() {
+    }
+
+    public static boolean isHonors(double average) {
+        return average > HONORS_THRESHOLD;
+    }
+
+    public static String message(String studentName, Double average) {
+        if (average == null) return null;
+
+        return "O aluno " + studentName + " obteve uma média de " + new DecimalFormat("#.##", PT_BR).format(average)
+                + (isHonors(average) ? ". Parabéns!" : ". Você pode melhorar.");
+    }
+}
@@ -0,0 +1,22 @@
+package com.meli.obterdiploma.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiplomaAnalysisDTO {
+
+    Long studentId;
+
+    // Presente quando a analise foi feita.
+    StudentDTO student;
+
+    // Presente quando o aluno nao foi encontrado.
+    ErrorDTO error;
+}
@@ -0,0 +1,18 @@
+package com.meli.obterdiploma.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistogramBucketDTO {
+
+    // Intervalo [from, to); o ultimo balde inclui a nota 10.
+    Double from;
+    Double to;
+
+    long count;
+}
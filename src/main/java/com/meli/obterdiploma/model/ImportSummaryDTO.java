@@ -0,0 +1,22 @@
+package com.meli.obterdiploma.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportSummaryDTO {
+
+    long accepted;
+
+    // Total de linhas rejeitadas, inclusive as que nao couberam em errors.
+    long rejected;
+
+    // Erros das primeiras linhas rejeitadas; index e o numero da linha, a partir de 1.
+    List<BatchItemErrorDTO> errors;
+}
@@ -1,5 +1,6 @@
 package com.meli.obterdiploma.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -28,6 +29,21 @@ public class StudentDTO {
     @NotEmpty(message = "A lista de assuntos não pode ficar vazia.")
     List<@Valid SubjectDTO> subjects;
 
+    // Versao do registro no StudentDAO, usada no ETag; nao faz parte do JSON nem da igualdade.
+    @JsonIgnore
+    Long version;
+
+    public StudentDTO(Long id, String studentName, String message, Double averageScore, List<SubjectDTO> subjects) {
+        this(id, studentName, message, averageScore, subjects, null);
+    }
+
+    /**
+     * ETag do registro: muda sempre que o aluno e alterado.
+     */
+    public String etag() {
+        return this.id + "-" + this.version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
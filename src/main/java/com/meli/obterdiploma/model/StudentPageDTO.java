@@ -0,0 +1,24 @@
+package com.meli.obterdiploma.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentPageDTO {
+
+    List<StudentDTO> students;
+
+    // Token opaco para pedir a proxima pagina; ausente na ultima pagina.
+    String nextCursor;
+
+    // Quantidade total de alunos, so quando pedida com includeTotal=true.
+    Long total;
+}
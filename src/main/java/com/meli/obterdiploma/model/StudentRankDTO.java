@@ -0,0 +1,24 @@
+package com.meli.obterdiploma.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentRankDTO {
+
+    Long studentId;
+
+    // Posicao por media, a partir de 1; ausente quando o aluno nao tem notas.
+    Long rank;
+
+    // Quantidade de alunos no ranking.
+    long rankedStudents;
+
+    Double averageScore;
+}
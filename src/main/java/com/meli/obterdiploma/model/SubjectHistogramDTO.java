@@ -0,0 +1,21 @@
+package com.meli.obterdiploma.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubjectHistogramDTO {
+
+    String subject;
+
+    // Quantidade de notas lancadas no assunto.
+    long count;
+
+    List<HistogramBucketDTO> buckets;
+}
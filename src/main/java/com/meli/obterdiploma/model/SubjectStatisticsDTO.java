@@ -0,0 +1,21 @@
+package com.meli.obterdiploma.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubjectStatisticsDTO {
+
+    String name;
+
+    // Quantidade de notas lancadas no assunto.
+    long count;
+
+    Double averageScore;
+    Double minScore;
+    Double maxScore;
+}
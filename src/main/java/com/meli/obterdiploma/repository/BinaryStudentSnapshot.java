@@ -0,0 +1,202 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Snapshot binario e versionado dos alunos, lido por um arquivo mapeado em memoria.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic ("OBDS") | short versao | int quantidade
+ * quantidade x (long id | int offset)      indice ordenado por id
+ * registros: string nome | string mensagem | byte+double media | int n | n x (string nome | byte+double nota)
+ * </pre>
+ * Strings sao gravadas como int tamanho (-1 para null) seguido dos bytes UTF-8.
+ * Abrir o snapshot so le o cabecalho; cada registro e decodificado quando acessado. Mesmo assim
+ * o StudentDAO decodifica todos os registros na carga, porque o ranking e os indices de assunto
+ * e nome precisam de todos os alunos em memoria.
+ */
+public class BinaryStudentSnapshot {
+
+    static final int MAGIC = 0x4F424453;
+    static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 2 + 4;
+    private static final int INDEX_ENTRY_SIZE = 8 + 4;
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private BinaryStudentSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        // Um arquivo vazio ou cortado vira IOException, como qualquer outro snapshot invalido.
+        if (buffer.capacity() < HEADER_SIZE) throw new IOException("Truncated student snapshot: " + buffer.capacity() + " bytes");
+        if (buffer.getInt(0) != MAGIC) throw new IOException("Not a student snapshot file");
+        short version = buffer.getShort(4);
+        if (version != VERSION) throw new IOException("Unsupported student snapshot version " + version);
+
+        this.size = buffer.getInt(6);
+        long recordsStart = HEADER_SIZE + (long) this.size * INDEX_ENTRY_SIZE;
+        if (this.size < 0 || recordsStart > buffer.capacity()) {
+            throw new IOException("Truncated student snapshot: index of " + this.size + " records does not fit in " + buffer.capacity() + " bytes");
+        }
+        for (int i = 0; i < this.size; i++) {
+            int offset = this.offsetAt(i);
+            if (offset < recordsStart || offset >= buffer.capacity()) {
+                throw new IOException("Truncated student snapshot: record " + this.idAt(i) + " is outside the file");
+            }
+        }
+    }
+
+    public static BinaryStudentSnapshot open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // O mapeamento continua valido depois que o canal e fechado.
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BinaryStudentSnapshot(mapped);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private long idAt(int index) {
+        return this.buffer.getLong(HEADER_SIZE + index * INDEX_ENTRY_SIZE);
+    }
+
+    private int offsetAt(int index) {
+        return this.buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE + 8);
+    }
+
+    public StudentDTO decode(int index) {
+        long id = this.idAt(index);
+
+        // Cada leitura usa sua propria visao do buffer, entao o snapshot pode ser lido por varias threads.
+        ByteBuffer record = this.buffer.duplicate();
+        record.position(this.offsetAt(index));
+
+        try {
+            String name = readString(record);
+            String message = readString(record);
+            Double average = readDouble(record);
+
+            int subjectCount = record.getInt();
+            if (subjectCount < 0 || subjectCount > record.remaining()) throw new BufferUnderflowException();
+            List<SubjectDTO> subjects = new ArrayList<>(subjectCount);
+            for (int i = 0; i < subjectCount; i++) {
+                subjects.add(new SubjectDTO(readString(record), readDouble(record)));
+            }
+
+            return new StudentDTO(id, name, message, average, subjects);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new UncheckedIOException(new IOException("Truncated student snapshot: record " + id + " is incomplete", e));
+        }
+    }
+
+    /**
+     * Visao de lista sobre o snapshot que decodifica cada aluno apenas quando e acessado.
+     */
+    public List<StudentDTO> asList() {
+        return new AbstractList<>() {
+            @Override
+            public StudentDTO get(int index) {
+                return decode(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Grava os registros direto no arquivo, um por vez, deixando espaco para o indice logo apos o
+     * cabecalho; os offsets sao preenchidos no fim, quando ja sao conhecidos. Assim a memoria
+     * extra e so a do indice, e nao a do snapshot inteiro.
+     */
+    public static void write(File file, Collection<StudentDTO> students) throws IOException {
+        List<StudentDTO> sorted = new ArrayList<>(students);
+        sorted.sort(Comparator.comparing(StudentDTO::getId));
+
+        int recordsStart = HEADER_SIZE + sorted.size() * INDEX_ENTRY_SIZE;
+        ByteBuffer index = ByteBuffer.allocate(recordsStart);
+        index.putInt(MAGIC).putShort(VERSION).putInt(sorted.size());
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(recordsStart);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            for (StudentDTO stu : sorted) {
+                index.putLong(stu.getId()).putInt(recordsStart + out.size());
+
+                writeString(out, stu.getStudentName());
+                writeString(out, stu.getMessage());
+                writeDouble(out, stu.getAverageScore());
+
+                List<SubjectDTO> subjects = (stu.getSubjects() != null) ? stu.getSubjects() : List.of();
+                out.writeInt(subjects.size());
+                for (SubjectDTO subject : subjects) {
+                    writeString(out, subject.getName());
+                    writeDouble(out, subject.getScore());
+                }
+            }
+            out.flush();
+
+            index.flip();
+            for (long position = 0; index.hasRemaining(); ) position += channel.write(index, position);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        if (length > buffer.remaining()) throw new BufferUnderflowException();
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Double readDouble(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        double value = buffer.getDouble();
+        return present ? value : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeByte(value != null ? 1 : 0);
+        out.writeDouble(value != null ? value : 0D);
+    }
+}
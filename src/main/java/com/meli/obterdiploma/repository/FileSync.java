@@ -0,0 +1,34 @@
+package com.meli.obterdiploma.repository;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * fsync de arquivos e diretorios. Sem ele um write, um flush ou um rename so chegam ao cache
+ * do sistema operacional e podem se perder numa queda de energia.
+ */
+final class FileSync {
+
+    private FileSync() {
+    }
+
+    static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Persiste as entradas do diretorio (criacao, rename e remocao de arquivos). Alguns sistemas,
+     * como o Windows, nao permitem abrir um diretorio; ali o rename ja e duravel e a falha e ignorada.
+     */
+    static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // sem suporte a fsync de diretorio
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveStudentDAO {
+    Mono<StudentDTO> save(StudentDTO stu);
+    Mono<Boolean> delete(Long id);
+    Mono<StudentDTO> find(Long id);
+    Flux<StudentDTO> streamAll();
+    Mono<Void> sync();
+}
@@ -3,14 +3,50 @@ package com.meli.obterdiploma.repository;
 import com.meli.obterdiploma.model.StudentDTO;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface IStudentDAO {
     void save(StudentDTO stu);
+    void saveAll(List<StudentDTO> students);
     boolean delete(Long id);
     boolean exists(StudentDTO stu);
+    Optional<StudentDTO> find(Long id);
     StudentDTO findById(Long id);
 
     List<StudentDTO> listAllData();
 
+    List<StudentRecord> listAllRecords();
+
+    Set<StudentDTO> findAll();
+
+    List<StudentDTO> findPage(Long afterId, int limit);
+
+    List<Long> findIds(Long fromId, Long toId, int limit);
+
+    List<StudentDTO> findTop(int limit);
+
+    List<StudentDTO> findBottom(int limit);
+
+    int findRank(Long id);
+
+    int countRanked();
+
+    List<StudentDTO> findBySubject(String subject, int limit);
+
+    List<StudentDTO> findBySubjectScoreBelow(String subject, double score, int limit);
+
+    int[] subjectHistogram(String subject);
+
+    List<StudentDTO> findByName(String query, boolean prefix, int limit);
+
+    int count();
+
     void deleteAll();
+
+    void flush();
+
+    void sync();
+
+    long getVersion();
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.meli.obterdiploma.repository;
+
+/**
+ * Indice secundario mantido pelo StudentDAO a cada escrita. As chamadas chegam de varias threads
+ * de escrita ao mesmo tempo, entao cada indice cuida da propria sincronizacao.
+ */
+public interface IStudentIndex {
+
+    void add(StudentRecord record);
+
+    void remove(StudentRecord record);
+
+    void clear();
+}
@@ -0,0 +1,22 @@
+package com.meli.obterdiploma.repository;
+
+/**
+ * Como o StudentDAO leva as alteracoes para o disco (propriedade api.persistence.mode).
+ */
+public enum PersistenceMode {
+
+    /**
+     * Cada save/delete e anexado ao journal antes de retornar; o snapshot e compactado em segundo plano.
+     */
+    JOURNAL,
+
+    /**
+     * save/delete retornam apos a alteracao em memoria; um flusher agrupa as alteracoes de uma
+     * janela de tempo ou de tamanho em uma unica gravacao do snapshot.
+     */
+    WRITE_BEHIND;
+
+    public static PersistenceMode of(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,55 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fachada assincrona do StudentDAO. As leituras vem da memoria e nao bloqueiam; as escritas
+ * podem esperar o journal ou a regravacao do arquivo e por isso rodam no boundedElastic, longe
+ * das threads que atendem os pedidos.
+ */
+@Repository
+public class ReactiveStudentDAO implements IReactiveStudentDAO {
+
+    private final Scheduler writeScheduler = Schedulers.boundedElastic();
+
+    @Autowired
+    IStudentDAO studentDAO;
+
+    @Override
+    public Mono<StudentDTO> save(StudentDTO stu) {
+        return Mono.fromCallable(() -> {
+            studentDAO.save(stu);
+            return stu;
+        }).subscribeOn(writeScheduler);
+    }
+
+    @Override
+    public Mono<Boolean> delete(Long id) {
+        return Mono.fromCallable(() -> studentDAO.delete(id)).subscribeOn(writeScheduler);
+    }
+
+    @Override
+    public Mono<StudentDTO> find(Long id) {
+        return Mono.defer(() -> Mono.justOrEmpty(studentDAO.find(id)));
+    }
+
+    /**
+     * Percorre o snapshot publicado no momento da assinatura, convertendo cada registro em DTO
+     * so quando ele e pedido; escritas posteriores nao alteram o que esta sendo transmitido.
+     */
+    @Override
+    public Flux<StudentDTO> streamAll() {
+        return Flux.defer(() -> Flux.fromIterable(studentDAO.listAllRecords())).map(StudentRecord::toDTO);
+    }
+
+    @Override
+    public Mono<Void> sync() {
+        return Mono.<Void>fromRunnable(studentDAO::sync).subscribeOn(writeScheduler);
+    }
+}
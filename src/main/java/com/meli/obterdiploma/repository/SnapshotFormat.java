@@ -0,0 +1,65 @@
+package com.meli.obterdiploma.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.model.StudentDTO;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Formato do snapshot completo dos alunos (propriedade api.snapshot.format).
+ */
+public enum SnapshotFormat {
+
+    JSON("users.json") {
+        @Override
+        public Collection<StudentDTO> read(File file, ObjectMapper objectMapper) throws IOException {
+            return objectMapper.readValue(file, new TypeReference<Set<StudentDTO>>(){});
+        }
+
+        @Override
+        public void write(File file, Collection<StudentDTO> students, ObjectMapper objectMapper) throws IOException {
+            objectMapper.writeValue(file, students);
+        }
+    },
+
+    /**
+     * Snapshot binario mapeado em memoria; a colecao devolvida decodifica cada aluno ao ser percorrida.
+     */
+    BINARY("users.bin") {
+        @Override
+        public Collection<StudentDTO> read(File file, ObjectMapper objectMapper) throws IOException {
+            return BinaryStudentSnapshot.open(file).asList();
+        }
+
+        @Override
+        public void write(File file, Collection<StudentDTO> students, ObjectMapper objectMapper) throws IOException {
+            BinaryStudentSnapshot.write(file, students);
+        }
+    };
+
+    private final String fileName;
+
+    SnapshotFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public File file(File directory) {
+        return new File(directory, this.fileName);
+    }
+
+    public abstract Collection<StudentDTO> read(File file, ObjectMapper objectMapper) throws IOException;
+
+    public abstract void write(File file, Collection<StudentDTO> students, ObjectMapper objectMapper) throws IOException;
+
+    public static SnapshotFormat of(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+
+    public static SnapshotFormat ofFile(File file) {
+        return file.getName().endsWith(".bin") ? BINARY : JSON;
+    }
+}
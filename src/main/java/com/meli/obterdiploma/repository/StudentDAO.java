@@ -1,125 +1,706 @@
 package com.meli.obterdiploma.repository;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meli.obterdiploma.exception.StudentNotFoundException;
 import com.meli.obterdiploma.model.StudentDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.ResourceUtils;
 
+import javax.annotation.PreDestroy;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.HashSet;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Repository
-public class StudentDAO implements IStudentDAO {
+public class StudentDAO implements IStudentDAO, MeterBinder {
+
+    // Metricas no registro global do Micrometer, que o Spring liga ao endpoint /actuator/prometheus.
+    private static final Timer LOAD_TIMER = Metrics.timer("students.dao.load");
+    private static final Timer SAVE_TIMER = Metrics.timer("students.dao.save", "batch", "false");
+    private static final Timer SAVE_BATCH_TIMER = Metrics.timer("students.dao.save", "batch", "true");
+    private static final Timer DELETE_TIMER = Metrics.timer("students.dao.delete");
+    private static final Timer SNAPSHOT_TIMER = Metrics.timer("students.dao.snapshot.write");
+    private static final DistributionSummary SNAPSHOT_BYTES = DistributionSummary.builder("students.dao.snapshot.size")
+            .baseUnit("bytes")
+            .register(Metrics.globalRegistry);
+    private static final Counter LOOKUP_HITS = Metrics.counter("students.dao.lookups", "result", "hit");
+    private static final Counter LOOKUP_MISSES = Metrics.counter("students.dao.lookups", "result", "miss");
 
     private String SCOPE;
 
-    private Set<StudentDTO> students;
+    // Indice primario por id: buscas, remocoes e substituicoes em O(1). Os alunos ficam na forma
+    // compacta de StudentRecord e so viram StudentDTO quando saem do DAO.
+    private Map<Long, StudentRecord> students;
+
+    // Alunos do arquivo que nao cabem em StudentRecord (nota fora da faixa do ponto fixo). Ficam fora
+    // da API, mas voltam intactos a cada snapshot, para que a compactacao nao os apague do disco.
+    private final Map<Long, StudentDTO> unconverted = new ConcurrentHashMap<>();
+
+    // Ids em ordem crescente, para paginar por cursor sem ordenar a cada pagina.
+    private final ConcurrentSkipListSet<Long> orderedIds = new ConcurrentSkipListSet<>();
+
+    // Indices secundarios, mantidos a cada escrita: ranking por media, alunos por assunto e busca por nome.
+    private final StudentLeaderboard leaderboard = new StudentLeaderboard();
+    private final StudentSubjectIndex subjectIndex = new StudentSubjectIndex();
+    private final StudentNameIndex nameIndex = new StudentNameIndex();
+    private final List<IStudentIndex> indexes = List.of(this.leaderboard, this.subjectIndex, this.nameIndex);
+
+    // Ultimo id entregue. Nunca volta atras (exceto em deleteAll), entao ids nao sao reaproveitados.
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Incrementada a cada alteracao, para que leitores saibam quando uma copia em cache ficou velha.
+    // Comeca no instante da carga, para que ETags de uma execucao anterior nao coincidam com as novas.
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis() << 20);
+
+    // Ultima versao imutavel de todos os alunos, compartilhada por todos os leitores.
+    private final AtomicReference<StudentSnapshot> published = new AtomicReference<>(new StudentSnapshot(-1L, new StudentRecord[0]));
+
+    // O lock e usado invertido: escritores compartilham o lado de leitura entre si e so a publicacao
+    // de um snapshot novo pega o lado exclusivo, para copiar o mapa sem nenhuma escrita pela metade.
+    private final ReadWriteLock publication = new ReentrantReadWriteLock();
+    private final Lock writers = publication.readLock();
+    private final Lock publisher = publication.writeLock();
+
+    // Escritas no mesmo id sao serializadas pelo stripe do id; ids diferentes raramente disputam o mesmo lock.
+    private static final int STRIPES = 64;
+    private final Lock[] stripes = new Lock[STRIPES];
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SnapshotFormat snapshotFormat;
+    private File dataFile;
+    private StudentJournal journal;
+
+    private PersistenceMode persistenceMode;
+    private int compactionThreshold;
+    private int flushBatchSize;
+
+    // Alteracoes ainda nao incorporadas ao snapshot (no journal ou, em write-behind, so em memoria).
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "student-persistence-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
 
 
     public StudentDAO() {
+        this(loadProperties());
+    }
+
+    StudentDAO(Properties properties) {
+        for (int i = 0; i < STRIPES; i++) this.stripes[i] = new ReentrantLock();
+
+        this.SCOPE = properties.getProperty("api.scope");
+        this.snapshotFormat = SnapshotFormat.of(properties.getProperty("api.snapshot.format", "json"));
+        this.dataFile = snapshotFormat.file(new File(properties.getProperty("api.data.dir", "./src/" + SCOPE + "/resources")));
+        this.persistenceMode = PersistenceMode.of(properties.getProperty("api.persistence.mode", "journal"));
+        this.compactionThreshold = Integer.parseInt(properties.getProperty("api.journal.compaction-threshold", "1000"));
+        this.flushBatchSize = Integer.parseInt(properties.getProperty("api.persistence.flush-batch-size", "500"));
+        this.journal = new StudentJournal(new File(dataFile.getParentFile(), "users.journal"), objectMapper);
+        this.loadData();
+
+        if (this.persistenceMode == PersistenceMode.WRITE_BEHIND) {
+            // O intervalo e o limite de tempo que uma alteracao pode ficar so em memoria.
+            long interval = Long.parseLong(properties.getProperty("api.persistence.flush-interval-ms", "1000"));
+            this.flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Properties loadProperties() {
         Properties properties =  new Properties();
 
         try {
             properties.load(new ClassPathResource("application.properties").getInputStream());
-            this.SCOPE = properties.getProperty("api.scope");
-            this.loadData();
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        return properties;
     }
 
     @Override
     public void save(StudentDTO stu) {
-        boolean removed = this.delete(stu.getId());
+        SAVE_TIMER.record(() -> this.saveOne(stu));
+    }
 
-        if (!removed) stu.setId((this.students.size() + 1L));
+    private void saveOne(StudentDTO stu) {
+        Long id = stu.getId();
 
-        students.add(stu);
+        if (id != null) {
+            Lock stripe = this.stripeFor(id);
+            stripe.lock();
+            try {
+                if (this.students.containsKey(id)) {
+                    this.put(stu);
+                    return;
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+
+        // Um id recem-alocado e unico, entao o stripe dele nunca e disputado por outro cadastro.
+        stu.setId(this.sequence.incrementAndGet());
 
-        this.saveData();
+        Lock stripe = this.stripeFor(stu.getId());
+        stripe.lock();
+        try {
+            this.put(stu);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Deve ser chamado com o stripe do id travado, para que a memoria e o journal vejam as escritas
+     * de um mesmo aluno na mesma ordem.
+     */
+    private void put(StudentDTO stu) {
+        StudentRecord stored;
+
+        this.writers.lock();
+        try {
+            stored = this.store(stu, this.version.incrementAndGet());
+        } finally {
+            this.writers.unlock();
+        }
+
+        if (this.persistenceMode == PersistenceMode.JOURNAL) this.journal.appendSave(stored.toDTO());
+        this.afterWrite(1);
+    }
+
+    /**
+     * Grava um lote de alunos com uma unica operacao de persistencia: uma escrita no journal ou,
+     * em write-behind, uma unica contagem para o flusher. Todos os stripes sao travados em ordem,
+     * para que o lote entre no journal na mesma ordem em que entrou na memoria.
+     */
+    @Override
+    public void saveAll(List<StudentDTO> batch) {
+        if (batch.isEmpty()) return;
+
+        SAVE_BATCH_TIMER.record(() -> this.storeAll(batch));
+    }
+
+    private void storeAll(List<StudentDTO> batch) {
+        List<StudentRecord> stored = new ArrayList<>(batch.size());
+
+        for (Lock stripe : this.stripes) stripe.lock();
+        try {
+            this.writers.lock();
+            try {
+                long batchVersion = this.version.incrementAndGet();
+
+                for (StudentDTO stu : batch) {
+                    if (stu.getId() == null || !this.students.containsKey(stu.getId())) stu.setId(this.sequence.incrementAndGet());
+                    stored.add(this.store(stu, batchVersion));
+                }
+            } finally {
+                this.writers.unlock();
+            }
+
+            if (this.persistenceMode == PersistenceMode.JOURNAL) this.journal.appendSaves(stored.stream().map(StudentRecord::toDTO).collect(Collectors.toList()));
+            this.afterWrite(stored.size());
+        } finally {
+            for (int i = STRIPES - 1; i >= 0; i--) this.stripes[i].unlock();
+        }
+    }
+
+    // Chamado com o lock de escritores travado; o registro guarda a versao da escrita que o criou.
+    private StudentRecord store(StudentDTO stu, long version) {
+        // Guarda uma copia: alteracoes posteriores no objeto do chamador nao vazam para os leitores.
+        StudentRecord stored = StudentRecord.of(stu, version);
+
+        // Assim como o id, a media, a mensagem e a versao voltam para o chamador.
+        stu.setAverageScore(stored.getAverage());
+        stu.setMessage(stored.getMessage());
+        stu.setVersion(version);
+
+        StudentRecord previous = this.students.put(stored.getId(), stored);
+        this.orderedIds.add(stored.getId());
+
+        for (IStudentIndex index : this.indexes) {
+            if (previous != null) index.remove(previous);
+            index.add(stored);
+        }
+
+        return stored;
     }
 
     @Override
     public boolean delete(Long id) {
-        boolean ret = false;
+        if (id == null) return false;
+
+        return DELETE_TIMER.record(() -> this.deleteOne(id));
+    }
 
+    private boolean deleteOne(Long id) {
+        Lock stripe = this.stripeFor(id);
+        stripe.lock();
         try {
-            StudentDTO found = this.findById(id);
+            boolean ret;
 
-            students.remove(found);
-            ret  = true;
-            this.saveData();
+            this.writers.lock();
+            try {
+                StudentRecord removed = students.remove(id);
+                ret = removed != null;
+                if (this.unconverted.remove(id) != null) ret = true;
+                if (removed != null) {
+                    this.orderedIds.remove(id);
+                    for (IStudentIndex index : this.indexes) index.remove(removed);
+                    this.version.incrementAndGet();
+                }
+            } finally {
+                this.writers.unlock();
+            }
 
-        } catch (StudentNotFoundException e) {}
+            if (ret) {
+                if (this.persistenceMode == PersistenceMode.JOURNAL) this.journal.appendDelete(id);
+                this.afterWrite(1);
+            }
 
-        return ret;
+            return ret;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private Lock stripeFor(long id) {
+        return this.stripes[(int) (id ^ (id >>> 32)) & (STRIPES - 1)];
     }
 
     public boolean exists(StudentDTO stu) {
-       boolean ret = false;
+       return stu.getId() != null && students.containsKey(stu.getId());
+    }
 
-       try {
-           ret  = this.findById(stu.getId()) != null;
-       }
-       catch (StudentNotFoundException e) {}
+    /**
+     * Busca sem excecao: um id inexistente (ou null) devolve Optional vazio.
+     */
+    @Override
+    public Optional<StudentDTO> find(Long id) {
+        StudentRecord found = (id != null) ? students.get(id) : null;
+
+        if (found == null) {
+            LOOKUP_MISSES.increment();
+            return Optional.empty();
+        }
+        LOOKUP_HITS.increment();
 
-       return ret;
+        return Optional.of(found.toDTO());
     }
 
     @Override
     public StudentDTO findById(Long id) {
-        return students.stream()
-                .filter(stu -> stu.getId().equals(id))
-                .findFirst().orElseThrow(() -> new StudentNotFoundException(id));
+        return this.find(id).orElseThrow(() -> new StudentNotFoundException(id));
     }
 
     private void loadData() {
-        Set<StudentDTO> loadedData = new HashSet<>();
+        Timer.Sample sample = Timer.start();
+        Map<Long, StudentDTO> indexed = new ConcurrentHashMap<>();
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        File file;
         try {
-            file = ResourceUtils.getFile("./src/" + SCOPE + "/resources/users.json");
-            loadedData = objectMapper.readValue(file, new TypeReference<Set<StudentDTO>>(){});
+            // O snapshot binario decodifica cada aluno ao ser percorrido, entao um registro cortado so aparece aqui.
+            snapshotFormat.read(this.dataFile, objectMapper).forEach(stu -> indexed.put(stu.getId(), stu));
         } catch (FileNotFoundException e) {
             e.printStackTrace();
             System.out.println("Failed while initializing DB, check your resources files");
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
-            System.out.println("Failed while initializing DB, check your JSON formatting.");
+            System.out.println("Failed while initializing DB, check your snapshot formatting.");
+            indexed.clear();
         }
 
-        this.students = loadedData;
+        indexed.keySet().forEach(this::advanceSequence);
+        this.journal.replay(indexed, this::advanceSequence);
+        this.pendingWrites.set(this.journal.size());
+
+        // Media e mensagem sao recalculadas aqui: arquivos antigos podem traze-las desatualizadas ou ausentes.
+        // Um aluno com nota fora da faixa nao impede a aplicacao de subir: fica guardado como veio do arquivo.
+        Map<Long, StudentRecord> records = new ConcurrentHashMap<>();
+        indexed.forEach((id, stu) -> {
+            try {
+                records.put(id, StudentRecord.of(stu, this.version.get()));
+            } catch (IllegalArgumentException e) {
+                this.unconverted.put(id, stu);
+                System.out.println("Student " + id + " could not be loaded (" + e.getMessage() + "); it is kept unchanged in the DB file but not served");
+            }
+        });
+
+        this.orderedIds.addAll(records.keySet());
+        records.values().forEach(record -> this.indexes.forEach(index -> index.add(record)));
+        this.students = records;
+
+        sample.stop(LOAD_TIMER);
     }
 
-    private void saveData() {
-        ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Grava o snapshot completo em um arquivo temporario e o move por cima do atual,
+     * para que leitores nunca vejam um arquivo escrito pela metade.
+     */
+    private boolean saveData(Collection<StudentDTO> snapshot) {
+        boolean ret = false;
+
         try {
-            File file = ResourceUtils.getFile("./src/" + SCOPE + "/resources/users.json");
-            objectMapper.writeValue(file, this.students);
+            File tmp = new File(this.dataFile.getPath() + ".tmp");
+            Timer.Sample sample = Timer.start();
+            snapshotFormat.write(tmp, snapshot, objectMapper);
+            sample.stop(SNAPSHOT_TIMER);
+            SNAPSHOT_BYTES.record(tmp.length());
+            // O conteudo precisa estar no disco antes do rename, e o rename antes de o journal rotacionado ser apagado.
+            FileSync.force(tmp.toPath());
+            Files.move(tmp.toPath(), this.dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            FileSync.forceDirectory(this.dataFile.getAbsoluteFile().getParentFile().toPath());
+            ret = true;
         } catch (FileNotFoundException e) {
             e.printStackTrace();
             System.out.println("Failed while writing to DB, check your resources files");
         } catch (IOException e) {
             e.printStackTrace();
-            System.out.println("Failed while writing to DB, check your JSON formatting.");
+            System.out.println("Failed while writing to DB, check your snapshot formatting.");
         }
+
+        return ret;
+    }
+
+    /**
+     * Incorpora ao snapshot todas as alteracoes pendentes e so retorna depois da gravacao.
+     * O journal e rotacionado no mesmo instante em que os alunos sao copiados, entao escritas
+     * concorrentes seguem no journal novo sem esperar a gravacao.
+     */
+    @Override
+    public synchronized void flush() {
+        if (this.pendingWrites.get() == 0 && this.journal.isEmpty()) return;
+
+        try {
+            List<StudentDTO> snapshot = this.journal.rotate(() -> {
+                this.pendingWrites.set(0);
+                this.journal.appendSequence(this.sequence.get());
+
+                List<StudentDTO> all = new ArrayList<>(this.listAllData());
+                all.addAll(this.unconverted.values());
+                return all;
+            });
+
+            // Se o snapshot falhar, o journal rotacionado e mantido e reaplicado na proxima carga.
+            if (this.saveData(snapshot)) this.journal.discardRotated();
+            else this.pendingWrites.incrementAndGet();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed while compacting DB journal, check your resources files");
+        }
+    }
+
+    /**
+     * Garante que toda escrita ja aceita sobreviva a uma queda de energia. No modo journal basta
+     * um fsync do journal, com custo independente do tamanho da base; a compactacao continua
+     * sendo decidida so pelo compaction-threshold. Em write-behind as escritas pendentes
+     * so existem em memoria, entao o snapshot e gravado (com fsync) antes de retornar.
+     */
+    @Override
+    public void sync() {
+        if (this.persistenceMode != PersistenceMode.JOURNAL) {
+            this.flush();
+            return;
+        }
+
+        try {
+            this.journal.force();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed while syncing DB journal, check your resources files");
+        }
+    }
+
+    private void advanceSequence(long id) {
+        this.sequence.accumulateAndGet(id, Math::max);
+    }
+
+    private void afterWrite(int writes) {
+        int threshold = (this.persistenceMode == PersistenceMode.JOURNAL) ? this.compactionThreshold : this.flushBatchSize;
+
+        if (this.pendingWrites.addAndGet(writes) < threshold || !this.flushScheduled.compareAndSet(false, true)) return;
+
+        this.flusher.execute(() -> {
+            this.flushScheduled.set(false);
+            this.flush();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.flusher.shutdown();
+        try {
+            this.flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+        this.journal.close();
     }
 
     public List<StudentDTO> listAllData(){
-        return this.students.stream().collect(Collectors.toList());
+        return this.snapshot().students;
+    }
+
+    /**
+     * Registros compactos do snapshot publicado, para agregacoes que nao precisam montar DTOs.
+     */
+    @Override
+    public List<StudentRecord> listAllRecords() {
+        return this.snapshot().recordList;
+    }
+
+    @Override
+    public Set<StudentDTO> findAll() {
+        return this.snapshot().asSet();
+    }
+
+    /**
+     * Ate {@code limit} alunos com id maior que {@code afterId} (ou desde o inicio, se for null),
+     * em ordem de id. So os alunos da pagina sao visitados.
+     */
+    @Override
+    public List<StudentDTO> findPage(Long afterId, int limit) {
+        Set<Long> ids = (afterId == null) ? this.orderedIds : this.orderedIds.tailSet(afterId, false);
+        List<StudentDTO> page = new ArrayList<>(limit);
+
+        for (Long id : ids) {
+            if (page.size() == limit) break;
+
+            StudentRecord stu = this.students.get(id);
+            if (stu != null) page.add(stu.toDTO());
+        }
+
+        return page;
+    }
+
+    /**
+     * Os primeiros {@code limit} ids registrados entre {@code fromId} e {@code toId}, inclusive; um
+     * extremo null deixa o intervalo aberto.
+     */
+    @Override
+    public List<Long> findIds(Long fromId, Long toId, int limit) {
+        NavigableSet<Long> ids = this.orderedIds;
+
+        if (fromId != null) ids = ids.tailSet(fromId, true);
+        if (toId != null) ids = ids.headSet(toId, true);
+
+        List<Long> page = new ArrayList<>(Math.min(limit, 64));
+        for (Long id : ids) {
+            if (page.size() == limit) break;
+            page.add(id);
+        }
+
+        return page;
+    }
+
+    /**
+     * Ate {@code limit} alunos com as maiores medias, da maior para a menor.
+     */
+    @Override
+    public List<StudentDTO> findTop(int limit) {
+        return this.findAllById(this.leaderboard.top(limit));
+    }
+
+    /**
+     * Ate {@code limit} alunos com as menores medias, da menor para a maior.
+     */
+    @Override
+    public List<StudentDTO> findBottom(int limit) {
+        return this.findAllById(this.leaderboard.bottom(limit));
+    }
+
+    /**
+     * Posicao do aluno no ranking por media, a partir de 1, ou 0 se ele nao tem notas.
+     */
+    @Override
+    public int findRank(Long id) {
+        return this.leaderboard.rank(id);
+    }
+
+    @Override
+    public int countRanked() {
+        return this.leaderboard.size();
     }
 
+    /**
+     * Alunos que cursam o assunto, em ordem de nota.
+     */
+    @Override
+    public List<StudentDTO> findBySubject(String subject, int limit) {
+        return this.findAllById(this.subjectIndex.studentIds(subject, limit));
+    }
+
+    /**
+     * Alunos com nota no assunto abaixo de {@code score}, em ordem de nota.
+     */
+    @Override
+    public List<StudentDTO> findBySubjectScoreBelow(String subject, double score, int limit) {
+        // Arredonda para cima em centesimos exatos: abaixo de 6,001 inclui 6,00, abaixo de 6 nao.
+        int hundredths = BigDecimal.valueOf(Math.max(-1000, Math.min(score, 1000)))
+                .movePointRight(2).setScale(0, RoundingMode.CEILING).intValue();
+
+        return this.findAllById(this.subjectIndex.studentIdsBelow(subject, hundredths, limit));
+    }
+
+    /**
+     * Quantidade de notas do assunto por centesimo de ponto, de 0 a 10 pontos.
+     */
+    @Override
+    public int[] subjectHistogram(String subject) {
+        return this.subjectIndex.histogram(subject);
+    }
+
+    /**
+     * Ate {@code limit} alunos cujo nome contem {@code query} ou, com {@code prefix}, tem uma palavra
+     * comecando por ela. Nao diferencia maiusculas nem acentos.
+     */
+    @Override
+    public List<StudentDTO> findByName(String query, boolean prefix, int limit) {
+        return this.findAllById(prefix ? this.nameIndex.searchPrefix(query, limit) : this.nameIndex.searchContaining(query, limit));
+    }
+
+    // Um id removido entre a consulta ao indice e a leitura e simplesmente pulado.
+    private List<StudentDTO> findAllById(List<Long> ids) {
+        List<StudentDTO> found = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            StudentRecord stu = this.students.get(id);
+            if (stu != null) found.add(stu.toDTO());
+        }
+
+        return found;
+    }
+
+    @Override
+    public int count() {
+        return this.students.size();
+    }
+
+    /**
+     * Devolve o snapshot publicado sem nenhum lock enquanto nao houver escritas novas. Depois de uma
+     * escrita, o primeiro leitor copia o mapa e publica a nova versao para os demais.
+     */
+    private StudentSnapshot snapshot() {
+        StudentSnapshot current = this.published.get();
+        if (current.version == this.version.get()) return current;
+
+        this.publisher.lock();
+        try {
+            current = this.published.get();
+            long latest = this.version.get();
+
+            if (current.version != latest) {
+                current = new StudentSnapshot(latest, this.students.values().toArray(new StudentRecord[0]));
+                this.published.set(current);
+            }
+
+            return current;
+        } finally {
+            this.publisher.unlock();
+        }
+    }
+
+    /**
+     * Apaga todos os alunos da memoria e reinicia a sequencia de ids.
+     */
     public void deleteAll(){
-        this.students.clear();
+        this.writers.lock();
+        try {
+            this.students.clear();
+            this.unconverted.clear();
+            this.orderedIds.clear();
+            this.indexes.forEach(IStudentIndex::clear);
+            this.sequence.set(0);
+            this.version.incrementAndGet();
+        } finally {
+            this.writers.unlock();
+        }
+    }
+
+    /**
+     * Copia imutavel dos alunos numa versao. Guarda so os registros compactos; cada aluno vira
+     * StudentDTO quando e lido da lista, e o conjunto de findAll e montado uma vez por versao.
+     */
+    private static class StudentSnapshot {
+        private final long version;
+        private final List<StudentRecord> recordList;
+        private final List<StudentDTO> students;
+        private volatile Set<StudentDTO> set;
+
+        StudentSnapshot(long version, StudentRecord[] records) {
+            this.version = version;
+            this.recordList = Collections.unmodifiableList(Arrays.asList(records));
+            this.students = new AbstractList<>() {
+                @Override
+                public StudentDTO get(int index) {
+                    return records[index].toDTO();
+                }
+
+                @Override
+                public int size() {
+                    return records.length;
+                }
+            };
+        }
+
+        Set<StudentDTO> asSet() {
+            if (this.set == null) this.set = Collections.unmodifiableSet(new LinkedHashSet<>(this.students));
+            return this.set;
+        }
+    }
+
+    /**
+     * O tamanho do dataset e registrado so para a instancia gerenciada pelo Spring.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("students.dao.size", this, StudentDAO::count)
+                .description("Alunos registrados em memoria")
+                .register(registry);
+    }
+
+    @Override
+    public long getVersion() {
+        return this.version.get();
     }
 }
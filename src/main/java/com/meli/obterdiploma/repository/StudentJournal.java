@@ -0,0 +1,268 @@
+package com.meli.obterdiploma.repository;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.model.StudentDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Journal append-only das alteracoes feitas no arquivo de alunos.
+ * Cada save/delete vira uma linha JSON, entao o custo de uma escrita nao depende
+ * da quantidade de alunos registrados. O snapshot completo so e reescrito na compactacao.
+ */
+public class StudentJournal {
+
+    static final String SAVE = "SAVE";
+    static final String DELETE = "DELETE";
+    static final String SEQUENCE = "SEQUENCE";
+
+    private final File file;
+    private final File rotated;
+    private final ObjectMapper objectMapper;
+
+    private FileOutputStream out;
+    // O arquivo foi criado desde o ultimo force: a entrada no diretorio tambem precisa de fsync.
+    private boolean created;
+    private int records;
+
+    public StudentJournal(File file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.rotated = new File(file.getPath() + ".old");
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void appendSave(StudentDTO stu) {
+        this.append(List.of(new Entry(SAVE, null, stu)), true);
+    }
+
+    /**
+     * Anexa varios saves com uma unica escrita no arquivo.
+     */
+    public synchronized void appendSaves(Collection<StudentDTO> students) {
+        this.append(students.stream().map(stu -> new Entry(SAVE, null, stu)).collect(Collectors.toList()), true);
+    }
+
+    public synchronized void appendDelete(Long id) {
+        this.append(List.of(new Entry(DELETE, id, null)), true);
+    }
+
+    /**
+     * Registra o maior id ja entregue. Nao conta como alteracao pendente: so existe para que a
+     * sequencia sobreviva a compactacao mesmo quando o aluno com o maior id ja foi removido.
+     */
+    public synchronized void appendSequence(long lastId) {
+        this.append(List.of(new Entry(SEQUENCE, lastId, null)), false);
+    }
+
+    /**
+     * Forca para o disco tudo o que ja foi anexado. Escritas aceitas antes da chamada sobrevivem
+     * a uma queda de energia: ou estao neste arquivo ou no journal rotacionado, que ja passou
+     * por force antes de ser movido.
+     */
+    public synchronized void force() throws IOException {
+        if (this.out == null) return;
+
+        this.out.getChannel().force(true);
+        if (this.created) {
+            FileSync.forceDirectory(this.file.getAbsoluteFile().getParentFile().toPath());
+            this.created = false;
+        }
+    }
+
+    /**
+     * Registros acumulados desde a ultima compactacao.
+     */
+    public synchronized int size() {
+        return this.records;
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.records == 0 && !this.rotated.exists();
+    }
+
+    /**
+     * Move o journal atual para o lado, para que as novas escritas sigam em um arquivo vazio
+     * enquanto o snapshot e gravado. O snapshot deve ser capturado antes de liberar o lock.
+     */
+    public synchronized <T> T rotate(Supplier<T> snapshot) throws IOException {
+        this.force();
+        this.close();
+
+        if (this.file.exists()) {
+            if (this.rotated.exists()) appendTo(this.file, this.rotated);
+            else Files.move(this.file.toPath(), this.rotated.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        this.records = 0;
+
+        return snapshot.get();
+    }
+
+    /**
+     * Descarta o journal rotacionado depois que o snapshot que o contem foi gravado.
+     */
+    public synchronized void discardRotated() throws IOException {
+        Files.deleteIfExists(this.rotated.toPath());
+    }
+
+    public synchronized void close() {
+        if (this.out == null) return;
+
+        try {
+            this.out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.out = null;
+    }
+
+    /**
+     * Aplica sobre os alunos do snapshot o journal rotacionado (de uma compactacao interrompida)
+     * e o journal corrente, nessa ordem. Como cada registro e um save ou delete por id,
+     * reaplicar registros ja contidos no snapshot nao altera o resultado.
+     */
+    public synchronized void replay(Map<Long, StudentDTO> students, LongConsumer ids) {
+        replay(this.rotated, this.objectMapper, students, ids);
+        this.records = replay(this.file, this.objectMapper, students, ids);
+    }
+
+    /**
+     * Todo id encontrado (de saves, deletes e marcas de sequencia) e repassado para {@code ids}.
+     * Registros ilegiveis no fim do arquivo sao uma escrita interrompida: o arquivo e truncado no
+     * fim do ultimo registro valido, senao o proximo append seria colado nos bytes quebrados. Um
+     * registro ilegivel seguido de registros validos e corrupcao no meio do arquivo: ele e logado
+     * e pulado, sem descartar o que vem depois.
+     */
+    static int replay(File journal, ObjectMapper objectMapper, Map<Long, StudentDTO> students, LongConsumer ids) {
+        if (!journal.exists()) return 0;
+
+        int count = 0;
+        long offset = 0;
+        long valid = 0;
+        long corruptAt = -1;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(journal))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+
+                byte[] bytes = line.toByteArray();
+                line.reset();
+                if (new String(bytes, StandardCharsets.UTF_8).isBlank()) continue;
+
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(bytes, Entry.class);
+                } catch (JsonProcessingException e) {
+                    // So da para saber se e o fim do arquivo quando a proxima linha valida aparecer.
+                    if (corruptAt < 0) corruptAt = offset - bytes.length - 1;
+                    continue;
+                }
+                if (corruptAt >= 0) {
+                    System.out.println("Skipping corrupt journal records in " + journal.getName() + " between bytes " + corruptAt + " and " + (offset - bytes.length - 1));
+                    corruptAt = -1;
+                }
+                valid = offset;
+
+                if (SEQUENCE.equals(entry.getOp())) {
+                    ids.accept(entry.getId());
+                    continue;
+                }
+
+                if (SAVE.equals(entry.getOp())) {
+                    students.put(entry.getStudent().getId(), entry.getStudent());
+                    ids.accept(entry.getStudent().getId());
+                } else if (DELETE.equals(entry.getOp())) {
+                    students.remove(entry.getId());
+                    ids.accept(entry.getId());
+                }
+                count++;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed while replaying DB journal, check your resources files");
+            return count;
+        }
+
+        if (valid < journal.length()) truncate(journal, valid);
+
+        return count;
+    }
+
+    private static void truncate(File journal, long length) {
+        System.out.println("Truncating incomplete journal record in " + journal.getName() + " at byte " + length);
+
+        try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed while repairing DB journal, check your resources files");
+        }
+    }
+
+    private void append(List<Entry> entries, boolean pending) {
+        try {
+            if (this.out == null) {
+                this.created |= !this.file.exists();
+                this.out = new FileOutputStream(this.file, true);
+            }
+
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (Entry entry : entries) {
+                lines.write(this.objectMapper.writeValueAsBytes(entry));
+                lines.write('\n');
+            }
+
+            lines.writeTo(this.out);
+            if (pending) this.records += entries.size();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed while writing to DB journal, check your resources files");
+        }
+    }
+
+    private static void appendTo(File source, File target) throws IOException {
+        try (OutputStream os = new FileOutputStream(target, true)) {
+            Files.copy(source.toPath(), os);
+        }
+        Files.delete(source.toPath());
+    }
+
+    @Getter @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class Entry {
+        private String op;
+        private Long id;
+        private StudentDTO student;
+    }
+}
@@ -0,0 +1,237 @@
+package com.meli.obterdiploma.repository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Alunos ordenados por media (maior primeiro; empate pelo menor id), numa treap em que cada no
+ * guarda o tamanho da sua subarvore. Insercao, remocao e posicao de um aluno custam O(log n) e os
+ * N primeiros ou ultimos custam O(log n + N). Alunos sem nota ficam fora do ranking.
+ */
+public class StudentLeaderboard implements IStudentIndex {
+
+    private Node root;
+    private final Map<Long, Node> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void add(StudentRecord record) {
+        this.lock.writeLock().lock();
+        try {
+            Node previous = this.byId.remove(record.getId());
+            if (previous != null) this.root = erase(this.root, previous);
+
+            if (record.getScoreCount() == 0) return;
+
+            Node node = new Node(record.getId(), record.getScoreSum(), record.getScoreCount());
+            this.byId.put(node.id, node);
+            this.root = insert(this.root, node);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(StudentRecord record) {
+        this.lock.writeLock().lock();
+        try {
+            Node node = this.byId.remove(record.getId());
+            if (node != null) this.root = erase(this.root, node);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.byId.clear();
+            this.root = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return size(this.root);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posicao do aluno no ranking, a partir de 1, ou 0 se ele nao esta no ranking.
+     */
+    public int rank(long id) {
+        this.lock.readLock().lock();
+        try {
+            Node key = this.byId.get(id);
+            if (key == null) return 0;
+
+            int rank = 0;
+            Node node = this.root;
+            while (node != null) {
+                int cmp = compare(key, node);
+                if (cmp < 0) {
+                    node = node.left;
+                } else {
+                    rank += size(node.left) + 1;
+                    if (cmp == 0) return rank;
+                    node = node.right;
+                }
+            }
+
+            return 0;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids das {@code limit} maiores medias, da maior para a menor.
+     */
+    public List<Long> top(int limit) {
+        return this.walk(limit, false);
+    }
+
+    /**
+     * Ids das {@code limit} menores medias, da menor para a maior.
+     */
+    public List<Long> bottom(int limit) {
+        return this.walk(limit, true);
+    }
+
+    // Percurso em ordem (ou em ordem inversa) com pilha explicita, parando nos primeiros limit nos.
+    private List<Long> walk(int limit, boolean reverse) {
+        this.lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.min(limit, size(this.root)));
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = this.root;
+
+            while ((node != null || !stack.isEmpty()) && ids.size() < limit) {
+                while (node != null) {
+                    stack.push(node);
+                    node = reverse ? node.right : node.left;
+                }
+
+                node = stack.pop();
+                ids.add(node.id);
+                node = reverse ? node.left : node.right;
+            }
+
+            return ids;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maior media primeiro, comparando as fracoes soma/quantidade sem divisao; empates pelo menor id.
+     */
+    private static int compare(Node a, Node b) {
+        int byAverage = Long.compare((long) b.sum * a.count, (long) a.sum * b.count);
+        return (byAverage != 0) ? byAverage : Long.compare(a.id, b.id);
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) return node;
+
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+            return node;
+        }
+
+        if (compare(node, tree) < 0) tree.left = insert(tree.left, node);
+        else tree.right = insert(tree.right, node);
+
+        update(tree);
+        return tree;
+    }
+
+    private static Node erase(Node tree, Node node) {
+        if (tree == null) return null;
+
+        int cmp = compare(node, tree);
+        if (cmp == 0) return merge(tree.left, tree.right);
+
+        if (cmp < 0) tree.left = erase(tree.left, node);
+        else tree.right = erase(tree.right, node);
+
+        update(tree);
+        return tree;
+    }
+
+    /**
+     * Separa a arvore em nos antes de {@code key} e nos a partir dela.
+     */
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) return new Node[2];
+
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            update(tree);
+            parts[0] = tree;
+            return parts;
+        }
+
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        update(tree);
+        parts[1] = tree;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static final class Node {
+        final long id;
+        final int sum;
+        final int count;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(long id, int sum, int count) {
+            this.id = id;
+            this.sum = sum;
+            this.count = count;
+        }
+    }
+}
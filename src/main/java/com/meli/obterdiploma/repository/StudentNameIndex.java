@@ -0,0 +1,138 @@
+package com.meli.obterdiploma.repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * Indice de busca por nome, sem diferenciar maiusculas nem acentos ("Muñoz" e achado por "munoz").
+ * Prefixos usam um conjunto ordenado com o nome a partir do inicio de cada palavra; trechos do
+ * meio do nome usam um indice de trigramas, conferido no nome normalizado.
+ */
+public class StudentNameIndex implements IStudentIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    // Separa o texto indexado do id na chave do conjunto ordenado; vem antes de qualquer letra.
+    private static final char SEPARATOR = '\u0000';
+
+    private static final int GRAM = 3;
+
+    // Trechos menores que um trigrama obrigariam a conferir todos os nomes; para eles existe a busca por prefixo.
+    public static final int MIN_FRAGMENT_LENGTH = GRAM;
+
+    // Nome normalizado por id, para conferir os candidatos dos trigramas.
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    // "resto do nome a partir de uma palavra" + SEPARATOR + id.
+    private final NavigableSet<String> prefixes = new ConcurrentSkipListSet<>();
+
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+
+    public static String normalize(String value) {
+        if (value == null) return "";
+
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void add(StudentRecord record) {
+        String name = normalize(record.getName());
+        if (name.isEmpty()) return;
+
+        this.names.put(record.getId(), name);
+        for (int start : wordStarts(name)) this.prefixes.add(name.substring(start) + SEPARATOR + record.getId());
+        for (String gram : grams(name)) this.trigrams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(record.getId());
+    }
+
+    @Override
+    public void remove(StudentRecord record) {
+        String name = this.names.remove(record.getId());
+        if (name == null) return;
+
+        for (int start : wordStarts(name)) this.prefixes.remove(name.substring(start) + SEPARATOR + record.getId());
+        for (String gram : grams(name)) {
+            Set<Long> ids = this.trigrams.get(gram);
+            if (ids != null) ids.remove(record.getId());
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.names.clear();
+        this.prefixes.clear();
+        this.trigrams.clear();
+    }
+
+    /**
+     * Ids dos alunos com alguma palavra do nome comecando por {@code query}, em ordem alfabetica.
+     */
+    public List<Long> searchPrefix(String query, int limit) {
+        String prefix = normalize(query);
+        List<Long> ids = new ArrayList<>();
+        if (prefix.isEmpty()) return ids;
+
+        for (String key : this.prefixes.subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+            long id = Long.parseLong(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+            if (!ids.contains(id)) ids.add(id);
+            if (ids.size() == limit) break;
+        }
+
+        return ids;
+    }
+
+    /**
+     * Ids dos alunos cujo nome contem {@code query}, em ordem de id. Consultas com menos de
+     * {@link #MIN_FRAGMENT_LENGTH} letras nao formam trigramas e nao acham nada.
+     */
+    public List<Long> searchContaining(String query, int limit) {
+        String fragment = normalize(query);
+        List<Long> ids = new ArrayList<>();
+        if (fragment.length() < MIN_FRAGMENT_LENGTH) return ids;
+
+        for (Long id : this.candidates(fragment)) {
+            String name = this.names.get(id);
+            if (name != null && name.contains(fragment)) ids.add(id);
+            if (ids.size() == limit) break;
+        }
+
+        return ids;
+    }
+
+    // Interseccao dos trigramas da consulta, comecando pelo mais raro.
+    private Set<Long> candidates(String fragment) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : grams(fragment)) postings.add(this.trigrams.getOrDefault(gram, Set.of()));
+        postings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Long> candidates = new TreeSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) candidates.retainAll(postings.get(i));
+
+        return candidates;
+    }
+
+    private static List<Integer> wordStarts(String name) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != ' ' && (i == 0 || name.charAt(i - 1) == ' ')) starts.add(i);
+        }
+        return starts;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) grams.add(value.substring(i, i + GRAM));
+        return grams;
+    }
+}
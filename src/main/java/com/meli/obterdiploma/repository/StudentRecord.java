@@ -0,0 +1,159 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.Diploma;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representacao interna e imutavel de um aluno. As notas ficam em ponto fixo (centesimos, 0 a 1000)
+ * num array de short, em vez de uma lista de SubjectDTO com Double; os DTOs so sao montados na
+ * fronteira, quando o aluno sai do StudentDAO.
+ */
+public final class StudentRecord {
+
+    // Centesimos por ponto: 8,75 e guardado como 875.
+    public static final int SCALE = 100;
+
+    // Marca uma nota ausente, que nao entra na media.
+    public static final short NO_SCORE = Short.MIN_VALUE;
+
+    private final long id;
+    private final long version;
+    private final String name;
+    private final String message;
+
+    // null quando o aluno nao tem lista de assuntos.
+    private final String[] subjectNames;
+    private final short[] scores;
+
+    private final int scoreSum;
+    private final int scoreCount;
+
+    private StudentRecord(long id, long version, String name, String[] subjectNames, short[] scores) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.subjectNames = subjectNames;
+        this.scores = scores;
+
+        int sum = 0;
+        int count = 0;
+        if (scores != null) {
+            for (short score : scores) {
+                if (score == NO_SCORE) continue;
+                sum += score;
+                count++;
+            }
+        }
+        this.scoreSum = sum;
+        this.scoreCount = count;
+        this.message = Diploma.message(name, this.getAverage());
+    }
+
+    public static StudentRecord of(StudentDTO stu) {
+        return of(stu, 0L);
+    }
+
+    /**
+     * @param version versao do StudentDAO na escrita que gravou o aluno; muda a cada alteracao dele.
+     */
+    public static StudentRecord of(StudentDTO stu, long version) {
+        List<SubjectDTO> subjects = stu.getSubjects();
+        String[] subjectNames = null;
+        short[] scores = null;
+
+        if (subjects != null) {
+            subjectNames = new String[subjects.size()];
+            scores = new short[subjects.size()];
+
+            for (int i = 0; i < subjects.size(); i++) {
+                SubjectDTO subject = subjects.get(i);
+                subjectNames[i] = (subject != null) ? subject.getName() : null;
+                scores[i] = (subject != null) ? toFixedPoint(subject.getScore()) : NO_SCORE;
+            }
+        }
+
+        return new StudentRecord(stu.getId(), version, stu.getStudentName(), subjectNames, scores);
+    }
+
+    /**
+     * Arredonda a nota para centesimos; a API continua aceitando qualquer nota entre 0 e 10.
+     */
+    static short toFixedPoint(Double score) {
+        if (score == null) return NO_SCORE;
+
+        long fixed = Math.round(score * SCALE);
+        if (fixed <= NO_SCORE || fixed > Short.MAX_VALUE) throw new IllegalArgumentException("Score out of range: " + score);
+
+        return (short) fixed;
+    }
+
+    static Double fromFixedPoint(short score) {
+        return (score == NO_SCORE) ? null : (double) score / SCALE;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    public int getSubjectCount() {
+        return (this.scores == null) ? 0 : this.scores.length;
+    }
+
+    public String getSubjectName(int index) {
+        return this.subjectNames[index];
+    }
+
+    /**
+     * Nota da posicao informada em centesimos, ou {@link #NO_SCORE} se ausente.
+     */
+    public short getScore(int index) {
+        return this.scores[index];
+    }
+
+    /**
+     * Soma das notas presentes, em centesimos.
+     */
+    public int getScoreSum() {
+        return this.scoreSum;
+    }
+
+    public int getScoreCount() {
+        return this.scoreCount;
+    }
+
+    /**
+     * Media das notas, ou null se o aluno nao tem notas.
+     */
+    public Double getAverage() {
+        return (this.scoreCount == 0) ? null : (double) this.scoreSum / this.scoreCount / SCALE;
+    }
+
+    public StudentDTO toDTO() {
+        List<SubjectDTO> subjects = null;
+
+        if (this.scores != null) {
+            subjects = new ArrayList<>(this.scores.length);
+            for (int i = 0; i < this.scores.length; i++) {
+                subjects.add(new SubjectDTO(this.subjectNames[i], fromFixedPoint(this.scores[i])));
+            }
+        }
+
+        return new StudentDTO(this.id, this.name, this.message, this.getAverage(), subjects, this.version);
+    }
+}
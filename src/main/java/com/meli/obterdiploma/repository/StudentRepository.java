@@ -1,40 +1,23 @@
 package com.meli.obterdiploma.repository;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meli.obterdiploma.model.StudentDTO;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.ResourceUtils;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.util.HashSet;
 import java.util.Set;
 
 @Repository
 public class StudentRepository implements IStudentRepository {
 
-    @Value("${api.scope}")
-    private String SCOPE;
+    @Autowired
+    IStudentDAO studentDAO;
 
+    /**
+     * Os alunos vem do snapshot imutavel publicado pelo StudentDAO, que e a unica copia em memoria;
+     * o arquivo de dados so e lido na carga do DAO.
+     */
     @Override
     public Set<StudentDTO> findAll() {
-        Set<StudentDTO> loadedData = new HashSet<>();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            File file = ResourceUtils.getFile("./src/" + SCOPE + "/resources/users.json");
-            loadedData = objectMapper.readValue(file, new TypeReference<Set<StudentDTO>>(){});
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-            System.out.println("Failed while initializing DB, check your resources files");
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("Failed while initializing DB, check your JSON formatting.");
-        }
-
-        return loadedData;
+        return this.studentDAO.findAll();
     }
 }
@@ -0,0 +1,39 @@
+package com.meli.obterdiploma.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.model.StudentDTO;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Converte o snapshot de alunos entre JSON e o formato binario. O formato de cada arquivo
+ * e deduzido pela extensao (.json ou .bin).
+ *
+ * Uso: java -cp obterdiploma.jar com.meli.obterdiploma.repository.StudentSnapshotConverter users.json users.bin
+ */
+public class StudentSnapshotConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: StudentSnapshotConverter <source.json|source.bin> <target.json|target.bin>");
+            System.exit(1);
+        }
+
+        File source = new File(args[0]);
+        File target = new File(args[1]);
+
+        int converted = convert(source, target);
+        System.out.println("Converted " + converted + " students from " + source + " to " + target);
+    }
+
+    public static int convert(File source, File target) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        Collection<StudentDTO> students = SnapshotFormat.ofFile(source).read(source, objectMapper);
+        SnapshotFormat.ofFile(target).write(target, students, objectMapper);
+
+        return students.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.meli.obterdiploma.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Indice invertido de assunto para alunos. Para cada nome de assunto guarda as notas lancadas,
+ * ordenadas por nota e id, e um histograma por centesimo de ponto; as consultas por assunto nao
+ * visitam alunos que nao cursam o assunto. Notas ausentes ficam fora do indice.
+ */
+public class StudentSubjectIndex implements IStudentIndex {
+
+    // Centesimos de 0 a 10 pontos; notas fora disso contam no primeiro ou no ultimo balde.
+    public static final int MAX_SCORE = 10 * StudentRecord.SCALE;
+
+    private final Map<String, Subject> subjects = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(StudentRecord record) {
+        for (int i = 0; i < record.getSubjectCount(); i++) {
+            String name = record.getSubjectName(i);
+            short score = record.getScore(i);
+            if (name == null || score == StudentRecord.NO_SCORE) continue;
+
+            this.subjects.computeIfAbsent(name, key -> new Subject()).add(new Entry(score, record.getId()));
+        }
+    }
+
+    @Override
+    public void remove(StudentRecord record) {
+        for (int i = 0; i < record.getSubjectCount(); i++) {
+            String name = record.getSubjectName(i);
+            short score = record.getScore(i);
+            if (name == null || score == StudentRecord.NO_SCORE) continue;
+
+            Subject subject = this.subjects.get(name);
+            if (subject != null) subject.remove(new Entry(score, record.getId()));
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.subjects.clear();
+    }
+
+    /**
+     * Ate {@code limit} ids dos alunos que cursam o assunto, em ordem de nota.
+     */
+    public List<Long> studentIds(String subject, int limit) {
+        Subject found = this.subjects.get(subject);
+        return (found == null) ? List.of() : ids(found.entries, limit);
+    }
+
+    /**
+     * Ate {@code limit} ids dos alunos com nota no assunto abaixo de {@code score} (em centesimos), em ordem de nota.
+     */
+    public List<Long> studentIdsBelow(String subject, int score, int limit) {
+        Subject found = this.subjects.get(subject);
+        return (found == null) ? List.of() : ids(found.entries.headSet(new Entry(score, Long.MIN_VALUE), false), limit);
+    }
+
+    /**
+     * Quantidade de notas do assunto por centesimo de ponto, de 0 a {@link #MAX_SCORE}.
+     */
+    public int[] histogram(String subject) {
+        int[] histogram = new int[MAX_SCORE + 1];
+        Subject found = this.subjects.get(subject);
+
+        if (found != null) {
+            for (int i = 0; i <= MAX_SCORE; i++) histogram[i] = found.histogram.get(i);
+        }
+
+        return histogram;
+    }
+
+    // Um aluno com o assunto repetido aparece uma vez, na posicao da menor nota.
+    private static List<Long> ids(NavigableSet<Entry> entries, int limit) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Entry entry : entries) {
+            if (ids.size() == limit) break;
+            ids.add(entry.id);
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static class Subject {
+        private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+        private final AtomicIntegerArray histogram = new AtomicIntegerArray(MAX_SCORE + 1);
+
+        void add(Entry entry) {
+            // Um aluno com o mesmo assunto e a mesma nota repetidos conta uma vez so.
+            if (this.entries.add(entry)) this.histogram.incrementAndGet(bucket(entry.score));
+        }
+
+        void remove(Entry entry) {
+            if (this.entries.remove(entry)) this.histogram.decrementAndGet(bucket(entry.score));
+        }
+
+        private static int bucket(int score) {
+            return Math.max(0, Math.min(MAX_SCORE, score));
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final int score;
+        private final long id;
+
+        Entry(int score, long id) {
+            this.score = score;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byScore = Integer.compare(this.score, other.score);
+            return (byScore != 0) ? byScore : Long.compare(this.id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && this.compareTo((Entry) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.id) * 31 + this.score;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.CohortStatisticsDTO;
+import com.meli.obterdiploma.model.Diploma;
+import com.meli.obterdiploma.model.SubjectStatisticsDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import com.meli.obterdiploma.repository.StudentRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class CohortStatisticsService implements ICohortStatisticsService {
+
+    static final int[] PERCENTILES = {25, 50, 75, 90, 99};
+
+    // Medias em centesimos de 0 a 10 pontos; valores fora disso caem no primeiro ou no ultimo balde.
+    private static final int MAX_BUCKET = 10 * StudentRecord.SCALE;
+
+    @Autowired
+    IStudentDAO studentDAO;
+
+    /**
+     * Agrega os registros compactos do DAO em paralelo. Cada parte do stream acumula em primitivos
+     * e num histograma de centesimos, e as partes sao somadas no final; nenhum StudentDTO e montado.
+     */
+    @Override
+    public CohortStatisticsDTO getStatistics() {
+        List<StudentRecord> records = studentDAO.listAllRecords();
+
+        CohortAccumulator total = records.parallelStream()
+                .collect(CohortAccumulator::new, CohortAccumulator::add, CohortAccumulator::merge);
+
+        return total.toDTO(records.size());
+    }
+
+    private static class CohortAccumulator {
+        private long scored;
+        private double mean;
+        // Soma dos quadrados dos desvios (Welford), para o desvio padrao sem uma segunda passada.
+        private double m2;
+        private long honors;
+        private final int[] histogram = new int[MAX_BUCKET + 1];
+        private final Map<String, SubjectAccumulator> subjects = new HashMap<>();
+
+        void add(StudentRecord record) {
+            for (int i = 0; i < record.getSubjectCount(); i++) {
+                short score = record.getScore(i);
+                if (score != StudentRecord.NO_SCORE) this.subjects.computeIfAbsent(record.getSubjectName(i), SubjectAccumulator::new).add(score);
+            }
+
+            if (record.getScoreCount() == 0) return;
+
+            double hundredths = (double) record.getScoreSum() / record.getScoreCount();
+            double average = hundredths / StudentRecord.SCALE;
+
+            this.scored++;
+            double delta = average - this.mean;
+            this.mean += delta / this.scored;
+            this.m2 += delta * (average - this.mean);
+
+            if (Diploma.isHonors(average)) this.honors++;
+            this.histogram[(int) Math.max(0, Math.min(MAX_BUCKET, Math.round(hundredths)))]++;
+        }
+
+        void merge(CohortAccumulator other) {
+            if (other.scored > 0) {
+                long count = this.scored + other.scored;
+                double delta = other.mean - this.mean;
+
+                this.m2 += other.m2 + delta * delta * this.scored * other.scored / count;
+                this.mean += delta * other.scored / count;
+                this.scored = count;
+            }
+
+            this.honors += other.honors;
+            for (int i = 0; i <= MAX_BUCKET; i++) this.histogram[i] += other.histogram[i];
+            other.subjects.forEach((name, subject) -> this.subjects.merge(name, subject, SubjectAccumulator::merge));
+        }
+
+        CohortStatisticsDTO toDTO(long students) {
+            List<SubjectStatisticsDTO> subjectStatistics = this.subjects.values().stream()
+                    .sorted(Comparator.comparing(subject -> subject.name, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .map(SubjectAccumulator::toDTO)
+                    .collect(Collectors.toList());
+
+            if (this.scored == 0) return new CohortStatisticsDTO(students, 0, null, null, null, 0, subjectStatistics);
+
+            return new CohortStatisticsDTO(students, this.scored, this.mean, Math.sqrt(this.m2 / this.scored),
+                    this.percentiles(), this.honors, subjectStatistics);
+        }
+
+        /**
+         * Percentis pelo metodo do posto mais proximo, percorrendo o histograma uma unica vez.
+         */
+        private Map<String, Double> percentiles() {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            long seen = 0;
+            int bucket = 0;
+
+            for (int percentile : PERCENTILES) {
+                long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.scored));
+
+                while (seen + this.histogram[bucket] < rank) seen += this.histogram[bucket++];
+                percentiles.put("p" + percentile, (double) bucket / StudentRecord.SCALE);
+            }
+
+            return percentiles;
+        }
+    }
+
+    private static class SubjectAccumulator {
+        private final String name;
+        private long count;
+        private long sum;
+        private short min = Short.MAX_VALUE;
+        private short max = Short.MIN_VALUE;
+
+        SubjectAccumulator(String name) {
+            this.name = name;
+        }
+
+        void add(short score) {
+            this.count++;
+            this.sum += score;
+            if (score < this.min) this.min = score;
+            if (score > this.max) this.max = score;
+        }
+
+        SubjectAccumulator merge(SubjectAccumulator other) {
+            this.count += other.count;
+            this.sum += other.sum;
+            if (other.min < this.min) this.min = other.min;
+            if (other.max > this.max) this.max = other.max;
+            return this;
+        }
+
+        SubjectStatisticsDTO toDTO() {
+            return new SubjectStatisticsDTO(this.name, this.count, (double) this.sum / this.count / StudentRecord.SCALE,
+                    (double) this.min / StudentRecord.SCALE, (double) this.max / StudentRecord.SCALE);
+        }
+    }
+}
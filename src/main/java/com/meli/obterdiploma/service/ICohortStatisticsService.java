@@ -0,0 +1,8 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.CohortStatisticsDTO;
+
+public interface ICohortStatisticsService {
+
+    CohortStatisticsDTO getStatistics();
+}
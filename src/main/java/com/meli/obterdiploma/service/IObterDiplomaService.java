@@ -1,8 +1,16 @@
 package com.meli.obterdiploma.service;
 
+import com.meli.obterdiploma.model.DiplomaAnalysisDTO;
 import com.meli.obterdiploma.model.StudentDTO;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface IObterDiplomaService {
 
-    StudentDTO analyzeScores(Long studentId);
+    Optional<StudentDTO> analyzeScores(Long studentId);
+
+    List<DiplomaAnalysisDTO> analyzeScores(List<Long> studentIds);
+
+    List<DiplomaAnalysisDTO> analyzeScoresInRange(Long fromId, Long toId, int limit);
 }
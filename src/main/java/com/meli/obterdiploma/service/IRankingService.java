@@ -0,0 +1,17 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.StudentRankDTO;
+
+import java.util.List;
+
+public interface IRankingService {
+
+    List<StudentDTO> getTop(int limit);
+
+    List<StudentDTO> getBottom(int limit);
+
+    List<StudentDTO> getHonors(int limit);
+
+    StudentRankDTO getRank(Long studentId);
+}
@@ -0,0 +1,13 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveStudentService {
+    Mono<StudentDTO> create(StudentDTO stu, boolean durable);
+    Mono<StudentDTO> read(Long id);
+    Mono<StudentDTO> update(StudentDTO stu, boolean durable);
+    Mono<Void> delete(Long id, boolean durable);
+    Flux<StudentDTO> getAll();
+}
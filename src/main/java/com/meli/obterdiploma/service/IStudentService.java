@@ -1,13 +1,29 @@
 package com.meli.obterdiploma.service;
 
+import com.meli.obterdiploma.model.BulkRegistrationDTO;
+import com.meli.obterdiploma.model.ImportSummaryDTO;
 import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.StudentPageDTO;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface IStudentService {
     void create(StudentDTO stu);
+    BulkRegistrationDTO createAll(List<StudentDTO> students);
     StudentDTO read(Long id);
+    Optional<StudentDTO> find(Long id);
     void update(StudentDTO stu);
     void delete(Long id);
     Set<StudentDTO> getAll();
+    long getVersion();
+    StudentPageDTO getPage(String cursor, int limit, boolean includeTotal);
+    List<StudentDTO> search(String name, boolean prefix, int limit);
+    int exportAll(OutputStream out) throws IOException;
+    ImportSummaryDTO importAll(InputStream in) throws IOException;
+    void sync();
 }
@@ -0,0 +1,13 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectHistogramDTO;
+
+import java.util.List;
+
+public interface ISubjectService {
+
+    List<StudentDTO> getStudents(String subject, Double below, int limit);
+
+    SubjectHistogramDTO getHistogram(String subject, double bucketWidth);
+}
@@ -1,38 +1,66 @@
 package com.meli.obterdiploma.service;
 
+import com.meli.obterdiploma.exception.InvalidBatchRequestException;
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.DiplomaAnalysisDTO;
 import com.meli.obterdiploma.model.StudentDTO;
-import com.meli.obterdiploma.model.SubjectDTO;
 import com.meli.obterdiploma.repository.IStudentDAO;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.text.DecimalFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class ObterDiplomaService implements IObterDiplomaService {
 
+    private static final Timer ANALYSIS_TIMER = Metrics.timer("diploma.analysis", "batch", "false");
+    private static final Timer BATCH_ANALYSIS_TIMER = Metrics.timer("diploma.analysis", "batch", "true");
+
+    public static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     IStudentDAO studentDAO;
 
+    /**
+     * A media e a mensagem ja sao calculadas quando o aluno e gravado; aqui so se le o registro.
+     */
     @Override
-    public StudentDTO analyzeScores(Long studentId) {
-        StudentDTO stu = studentDAO.findById(studentId);
+    public Optional<StudentDTO> analyzeScores(Long studentId) {
+        return ANALYSIS_TIMER.record(() -> studentDAO.find(studentId));
+    }
 
-        stu.setAverageScore(calculateAverage(stu.getSubjects()));
-        stu.setMessage(getGreetingMessage(stu.getStudentName(), stu.getAverageScore()));
+    /**
+     * Analisa ate MAX_BATCH_SIZE alunos. Um id inexistente vira um item com erro em vez de
+     * interromper o lote; a ordem do resultado e a mesma dos ids recebidos. Cada item e so uma
+     * leitura em memoria, entao o lote roda na propria thread da requisicao.
+     */
+    @Override
+    public List<DiplomaAnalysisDTO> analyzeScores(List<Long> studentIds) {
+        if (studentIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchRequestException("Informe no máximo " + MAX_BATCH_SIZE + " ids por requisição.");
+        }
 
-        return stu;
+        return BATCH_ANALYSIS_TIMER.record(() -> studentIds.stream()
+                .map(this::analyze)
+                .collect(Collectors.toList()));
     }
 
-    private String getGreetingMessage(String studentName, Double average) {
-        return "O aluno " + studentName + " obteve uma média de " + new DecimalFormat("#.##").format(average)
-                + ((average > 9) ? ". Parabéns!" : ". Você pode melhorar.");
+    /**
+     * Uma pagina de ate {@code limit} alunos (no maximo MAX_BATCH_SIZE) do intervalo, em ordem de id.
+     */
+    @Override
+    public List<DiplomaAnalysisDTO> analyzeScoresInRange(Long fromId, Long toId, int limit) {
+        return this.analyzeScores(studentDAO.findIds(fromId, toId, Math.max(1, Math.min(limit, MAX_BATCH_SIZE))));
     }
 
-    private Double calculateAverage(List<SubjectDTO> scores) {
-        return scores.stream()
-                .reduce(0D, (partialSum, score)  -> partialSum + score.getScore(), Double::sum)
-                / scores.size();
+    // Ids inexistentes sao comuns num lote; a busca com Optional evita uma excecao por id.
+    private DiplomaAnalysisDTO analyze(Long studentId) {
+        return studentDAO.find(studentId)
+                .map(stu -> new DiplomaAnalysisDTO(studentId, stu, null))
+                .orElseGet(() -> new DiplomaAnalysisDTO(studentId, null, StudentNotFoundException.error(studentId)));
     }
 }
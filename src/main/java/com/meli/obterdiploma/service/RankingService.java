@@ -0,0 +1,52 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.Diploma;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.StudentRankDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class RankingService implements IRankingService {
+
+    static final int MAX_LIMIT = 500;
+
+    @Autowired
+    IStudentDAO studentDAO;
+
+    @Override
+    public List<StudentDTO> getTop(int limit) {
+        return studentDAO.findTop(clamp(limit));
+    }
+
+    @Override
+    public List<StudentDTO> getBottom(int limit) {
+        return studentDAO.findBottom(clamp(limit));
+    }
+
+    /**
+     * Alunos que recebem "Parabéns!": o inicio do ranking, ate a primeira media que nao passa de 9.
+     */
+    @Override
+    public List<StudentDTO> getHonors(int limit) {
+        return studentDAO.findTop(clamp(limit)).stream()
+                .takeWhile(stu -> Diploma.isHonors(stu.getAverageScore()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public StudentRankDTO getRank(Long studentId) {
+        StudentDTO stu = studentDAO.findById(studentId);
+        int rank = studentDAO.findRank(studentId);
+
+        return new StudentRankDTO(studentId, (rank > 0) ? (long) rank : null, studentDAO.countRanked(), stu.getAverageScore());
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,50 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.repository.IReactiveStudentDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveStudentService implements IReactiveStudentService {
+
+    @Autowired
+    IReactiveStudentDAO studentDAO;
+
+    @Override
+    public Mono<StudentDTO> create(StudentDTO stu, boolean durable) {
+        return this.syncIf(durable, studentDAO.save(stu));
+    }
+
+    /**
+     * A media e a mensagem ja vem gravadas, entao serve tanto para consultar o aluno quanto
+     * para a analise do diploma.
+     */
+    @Override
+    public Mono<StudentDTO> read(Long id) {
+        return studentDAO.find(id).switchIfEmpty(Mono.error(() -> new StudentNotFoundException(id)));
+    }
+
+    @Override
+    public Mono<StudentDTO> update(StudentDTO stu, boolean durable) {
+        return this.syncIf(durable, studentDAO.save(stu));
+    }
+
+    @Override
+    public Mono<Void> delete(Long id, boolean durable) {
+        return this.syncIf(durable, studentDAO.delete(id)).then();
+    }
+
+    @Override
+    public Flux<StudentDTO> getAll() {
+        return studentDAO.streamAll();
+    }
+
+    // Com durable=true so completa depois do fsync da escrita.
+    private <T> Mono<T> syncIf(boolean durable, Mono<T> write) {
+        return durable ? write.flatMap(result -> studentDAO.sync().thenReturn(result)) : write;
+    }
+}
@@ -1,32 +1,120 @@
 package com.meli.obterdiploma.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.meli.obterdiploma.config.MetricNames;
+import com.meli.obterdiploma.exception.InvalidCursorException;
+import com.meli.obterdiploma.exception.InvalidSearchQueryException;
+import com.meli.obterdiploma.model.BatchItemErrorDTO;
+import com.meli.obterdiploma.model.BulkRegistrationDTO;
+import com.meli.obterdiploma.model.ErrorDTO;
+import com.meli.obterdiploma.model.ImportSummaryDTO;
 import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.StudentPageDTO;
 import com.meli.obterdiploma.repository.IStudentDAO;
 import com.meli.obterdiploma.repository.IStudentRepository;
+import com.meli.obterdiploma.repository.StudentRecord;
+import com.meli.obterdiploma.repository.StudentNameIndex;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class StudentService implements IStudentService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Alunos gravados por saveAll durante uma importacao, e erros de linha devolvidos no resumo.
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int MAX_IMPORT_ERRORS = 100;
+
+    // Uma linha maior e rejeitada sem ser guardada inteira, para a memoria da importacao ficar limitada.
+    public static final int MAX_IMPORT_LINE_LENGTH = 64 * 1024;
+
     @Autowired
     IStudentDAO studentDAO;
 
     @Autowired
     IStudentRepository studentRepository;
 
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     @Override
     public void create(StudentDTO stu) {
         studentDAO.save(stu);
     }
 
+    /**
+     * Valida todos os alunos com as mesmas regras do @Valid e grava os validos de uma vez so;
+     * os invalidos voltam com seus erros e a posicao no lote, sem impedir o resto do cadastro.
+     */
+    @Override
+    public BulkRegistrationDTO createAll(List<StudentDTO> students) {
+        List<StudentDTO> valid = new ArrayList<>(students.size());
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+
+        for (int i = 0; i < students.size(); i++) {
+            StudentDTO stu = students.get(i);
+            List<ErrorDTO> violations = this.validate(stu);
+
+            if (violations.isEmpty()) valid.add(stu);
+            else errors.add(new BatchItemErrorDTO(i, violations));
+        }
+
+        studentDAO.saveAll(valid);
+
+        return new BulkRegistrationDTO(valid.stream().map(StudentDTO::getId).collect(Collectors.toList()), errors);
+    }
+
+    List<ErrorDTO> validate(StudentDTO stu) {
+        if (stu == null) {
+            Metrics.counter(MetricNames.VALIDATION_FAILURES, "constraint", "NotNull").increment();
+            return List.of(new ErrorDTO("student", "O aluno não pode ficar vazio."));
+        }
+
+        return validator.validate(stu).stream()
+                .map(violation -> {
+                    String constraint = violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+                    Metrics.counter(MetricNames.VALIDATION_FAILURES, "constraint", constraint).increment();
+
+                    return new ErrorDTO(violation.getPropertyPath().toString(), violation.getMessage());
+                })
+                .collect(Collectors.toList());
+    }
+
     @Override
     public StudentDTO read(Long id) {
         return studentDAO.findById(id);
     }
 
+    @Override
+    public Optional<StudentDTO> find(Long id) {
+        return studentDAO.find(id);
+    }
+
     @Override
     public void update(StudentDTO stu) {
         studentDAO.save(stu);
@@ -41,4 +129,165 @@ public class StudentService implements IStudentService {
     public Set<StudentDTO> getAll() {
         return this.studentRepository.findAll();
     }
+
+    /**
+     * Paginacao por chave sobre a ordem de ids: o cursor guarda o ultimo id entregue, entao
+     * insercoes e remocoes entre paginas nao fazem alunos repetirem nem serem pulados.
+     */
+    @Override
+    public StudentPageDTO getPage(String cursor, int limit, boolean includeTotal) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Um aluno a mais indica se existe proxima pagina.
+        List<StudentDTO> students = studentDAO.findPage(decodeCursor(cursor), size + 1);
+        String nextCursor = null;
+
+        if (students.size() > size) {
+            students = students.subList(0, size);
+            nextCursor = encodeCursor(students.get(size - 1).getId());
+        }
+
+        return new StudentPageDTO(students, nextCursor, includeTotal ? (long) studentDAO.count() : null);
+    }
+
+    @Override
+    public List<StudentDTO> search(String name, boolean prefix, int limit) {
+        if (!prefix && StudentNameIndex.normalize(name).length() < StudentNameIndex.MIN_FRAGMENT_LENGTH) {
+            throw new InvalidSearchQueryException("A busca por trecho do nome exige ao menos " + StudentNameIndex.MIN_FRAGMENT_LENGTH + " letras; use prefix=true para buscas menores.");
+        }
+        return studentDAO.findByName(name, prefix, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Escreve o snapshot atual como NDJSON, um aluno por linha. Cada registro vira DTO so no
+     * momento de ser escrito e e descartado em seguida, entao a memoria extra nao cresce com o
+     * tamanho da turma; escritas concorrentes nao aparecem no meio da exportacao.
+     */
+    @Override
+    public int exportAll(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(StudentDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        int exported = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Quem chama continua dono do stream (ex.: para terminar o gzip).
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            for (StudentRecord record : studentDAO.listAllRecords()) {
+                writer.writeValue(generator, record.toDTO());
+                generator.writeRaw('\n');
+                exported++;
+            }
+        }
+
+        return exported;
+    }
+
+    /**
+     * Le um NDJSON linha a linha, valida cada aluno como o @Valid e grava os validos em lotes
+     * de IMPORT_BATCH_SIZE; so um lote fica em memoria por vez. A proxima linha so e lida
+     * depois que o lote anterior foi gravado, entao um DAO lento segura o envio do cliente.
+     * Linhas vazias sao ignoradas e uma linha invalida nao interrompe a importacao.
+     */
+    @Override
+    public ImportSummaryDTO importAll(InputStream in) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(StudentDTO.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        List<StudentDTO> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        long accepted = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+        StringBuilder line = new StringBuilder();
+        int length;
+
+        while ((length = readLine(lines, line)) >= 0) {
+            lineNumber++;
+
+            List<ErrorDTO> violations;
+            if (length > MAX_IMPORT_LINE_LENGTH) {
+                violations = List.of(new ErrorDTO("line", "A linha excede o limite de " + MAX_IMPORT_LINE_LENGTH + " caracteres."));
+            } else if (isBlank(line)) {
+                continue;
+            } else {
+                try {
+                    StudentDTO stu = reader.readValue(line.toString());
+                    violations = this.validate(stu);
+                    if (violations.isEmpty()) batch.add(stu);
+                } catch (JsonProcessingException e) {
+                    violations = List.of(new ErrorDTO("line", "Linha com JSON inválido: " + e.getOriginalMessage()));
+                }
+            }
+
+            if (!violations.isEmpty()) {
+                rejected++;
+                if (errors.size() < MAX_IMPORT_ERRORS) errors.add(new BatchItemErrorDTO(lineNumber, violations));
+            }
+
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                studentDAO.saveAll(batch);
+                accepted += batch.size();
+                batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            studentDAO.saveAll(batch);
+            accepted += batch.size();
+        }
+
+        return new ImportSummaryDTO(accepted, rejected, errors);
+    }
+
+    /**
+     * Le a proxima linha para {@code line}, guardando no maximo MAX_IMPORT_LINE_LENGTH caracteres;
+     * o resto de uma linha maior e lido e descartado. Devolve o tamanho real da linha, ou -1 no
+     * fim do stream.
+     */
+    private static int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ < MAX_IMPORT_LINE_LENGTH) line.append((char) c);
+        }
+
+        return (c == -1 && length == 0) ? -1 : length;
+    }
+
+    private static boolean isBlank(CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return null;
+
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Versao da colecao de alunos; muda a cada cadastro, alteracao ou remocao.
+     */
+    @Override
+    public long getVersion() {
+        return studentDAO.getVersion();
+    }
+
+    @Override
+    public void sync() {
+        studentDAO.sync();
+    }
 }
@@ -0,0 +1,61 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.exception.InvalidScoreException;
+import com.meli.obterdiploma.model.HistogramBucketDTO;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectHistogramDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import com.meli.obterdiploma.repository.StudentRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class SubjectService implements ISubjectService {
+
+    @Autowired
+    IStudentDAO studentDAO;
+
+    /**
+     * Ate {@code limit} alunos (no maximo MAX_PAGE_SIZE) que cursam o assunto ou, com {@code below},
+     * so os que tem nota menor que ele.
+     */
+    @Override
+    public List<StudentDTO> getStudents(String subject, Double below, int limit) {
+        int size = Math.max(1, Math.min(limit, StudentService.MAX_PAGE_SIZE));
+
+        if (below == null) return studentDAO.findBySubject(subject, size);
+        if (!Double.isFinite(below)) throw new InvalidScoreException(below);
+
+        return studentDAO.findBySubjectScoreBelow(subject, below, size);
+    }
+
+    /**
+     * Agrupa o histograma de centesimos do indice em baldes de {@code bucketWidth} pontos.
+     */
+    @Override
+    public SubjectHistogramDTO getHistogram(String subject, double bucketWidth) {
+        int[] hundredths = studentDAO.subjectHistogram(subject);
+        int max = hundredths.length - 1;
+        int width = (int) Math.max(1, Math.min(max, Math.round(bucketWidth * StudentRecord.SCALE)));
+
+        List<HistogramBucketDTO> buckets = new ArrayList<>();
+        long total = 0;
+
+        for (int from = 0; from < max; from += width) {
+            int to = Math.min(from + width, max);
+            // O ultimo balde fecha o intervalo, para incluir a nota maxima.
+            int end = (to == max) ? max + 1 : to;
+
+            long count = 0;
+            for (int i = from; i < end; i++) count += hundredths[i];
+
+            buckets.add(new HistogramBucketDTO((double) from / StudentRecord.SCALE, (double) to / StudentRecord.SCALE, count));
+            total += count;
+        }
+
+        return new SubjectHistogramDTO(subject, total, buckets);
+    }
+}
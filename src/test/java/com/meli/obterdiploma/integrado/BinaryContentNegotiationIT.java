@@ -0,0 +1,116 @@
+package com.meli.obterdiploma.integrado;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.meli.obterdiploma.model.ErrorDTO;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BinaryContentNegotiationIT {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IStudentDAO studentDAO;
+
+    @BeforeEach
+    void setup() {
+        this.studentDAO.deleteAll();
+    }
+
+    private StudentDTO student(String name) {
+        return new StudentDTO(null, name, "Blank", 0.0, List.of(new SubjectDTO("Matemática", 10.0)));
+    }
+
+    @Test
+    void registerStudent_acceptsCbor_andGetStudentAnswersCbor() throws Exception {
+        mockMvc.perform(post("/student/registerStudent")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(student("John Doe"))))
+                .andExpect(status().isOk());
+
+        Long id = studentDAO.listAllData().get(0).getId();
+        byte[] body = mockMvc.perform(get("/student/getStudent/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        StudentDTO stu = cbor.readValue(body, StudentDTO.class);
+        assertThat(stu.getMessage()).isEqualTo("O aluno John Doe obteve uma média de 10. Parabéns!");
+        assertThat(stu.getSubjects()).extracting(SubjectDTO::getName).containsExactly("Matemática");
+    }
+
+    @Test
+    void registerStudent_validatesSmileLikeJson() throws Exception {
+        StudentDTO invalid = student("john doe");
+
+        byte[] body = mockMvc.perform(post("/student/registerStudent")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smile.writeValueAsBytes(invalid)))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(smile.readValue(body, ErrorDTO.class).getName()).isEqualTo("MethodArgumentNotValidException");
+        assertThat(studentDAO.count()).isZero();
+    }
+
+    @Test
+    void getStudent_keepsAnsweringJson_whenNoBinaryTypeIsAccepted() throws Exception {
+        StudentDTO stu = student("John Doe");
+        studentDAO.save(stu);
+
+        mockMvc.perform(get("/student/getStudent/{id}", stu.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getStudent_variesOnAccept_andTagsEachFormatSeparately() throws Exception {
+        StudentDTO stu = student("John Doe");
+        studentDAO.save(stu);
+
+        String jsonEtag = mockMvc.perform(get("/student/getStudent/{id}", stu.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+        String cborEtag = mockMvc.perform(get("/student/getStudent/{id}", stu.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(cborEtag).isNotEqualTo(jsonEtag);
+
+        mockMvc.perform(get("/student/getStudent/{id}", stu.getId()).accept(MediaType.APPLICATION_JSON).header("If-None-Match", cborEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/student/getStudent/{id}", stu.getId()).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+}
@@ -1,16 +1,17 @@
 package com.meli.obterdiploma.integrado;
 
 
-import com.meli.obterdiploma.exception.StudentNotFoundException;
 import com.meli.obterdiploma.model.StudentDTO;
 import com.meli.obterdiploma.model.SubjectDTO;
 import com.meli.obterdiploma.repository.IStudentDAO;
 import com.meli.obterdiploma.repository.StudentDAO;
+import com.meli.obterdiploma.service.ObterDiplomaService;
 import lombok.extern.log4j.Log4j2;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -18,16 +19,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Log4j2
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureMetrics
 public class ObterDiplomaControllerIT {
 
 
@@ -63,15 +67,104 @@ public class ObterDiplomaControllerIT {
     }
 
     @Test
-    void analyzeScores_throwStudentNotFoundException_whenFailure() throws Exception {
+    void analyzeScores_returnNotFound_whenFailure() throws Exception {
 
         ResultActions response = mockMvc.perform(get("/analyzeScores/{studentId}",Long.MIN_VALUE).contentType(MediaType.APPLICATION_JSON));
 
         response.andExpect(status().isNotFound())
-                .andExpect(result -> assertTrue(
-                        result.getResolvedException() instanceof StudentNotFoundException
-                ))
+                .andExpect(jsonPath("$.name", CoreMatchers.is("StudentNotFoundException")))
                 .andExpect(jsonPath("$.description", CoreMatchers.is(String.format("O aluno com Id %d não está registrado.", Long.MIN_VALUE))));
     }
 
+    @Test
+    void analyzeScores_returnAnalysisPerId_whenBatchHasMissingStudents() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+        subjectDTOList.add(new SubjectDTO("Chemistry", 7.00));
+
+        StudentDTO studentDTO = new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList);
+        studentDAO.save(studentDTO);
+
+        ResultActions response = mockMvc.perform(get("/analyzeScores")
+                .param("ids", String.valueOf(studentDTO.getId()), "999")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[0].studentId", CoreMatchers.is(studentDTO.getId().intValue())))
+                .andExpect(jsonPath("$[0].student.averageScore", CoreMatchers.is(8.5)))
+                .andExpect(jsonPath("$[1].studentId", CoreMatchers.is(999)))
+                .andExpect(jsonPath("$[1].error.description", CoreMatchers.is("O aluno com Id 999 não está registrado.")));
+    }
+
+    @Test
+    void analyzeScores_analyzeEveryStudent_whenAllIsRequested() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+
+        mockMvc.perform(get("/analyzeScores").param("all", "true").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[1].student.message", CoreMatchers.is("O aluno Mary Doe obteve uma média de 10. Parabéns!")));
+    }
+
+    @Test
+    void analyzeScores_pageAllStudents_withNextLink() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+
+        mockMvc.perform(get("/analyzeScores").param("all", "true").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].studentId", CoreMatchers.is(1)))
+                .andExpect(header().string("Link", CoreMatchers.containsString("from=2")));
+
+        mockMvc.perform(get("/analyzeScores").param("all", "true").param("limit", "2").param("from", "2").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].studentId", CoreMatchers.is(2)))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void analyzeScores_returnBadRequest_whenTooManyIdsAreGiven() throws Exception {
+        String[] ids = new String[ObterDiplomaService.MAX_BATCH_SIZE + 1];
+        Arrays.fill(ids, "1");
+
+        mockMvc.perform(get("/analyzeScores").param("ids", ids).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name", CoreMatchers.is("InvalidBatchRequestException")));
+    }
+
+    @Test
+    void analyzeScores_returnBadRequest_whenNoSelectionIsGiven() throws Exception {
+        mockMvc.perform(get("/analyzeScores").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void prometheus_exposeStorageAndAnalysisMetrics() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        StudentDTO studentDTO = new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList);
+        studentDAO.save(studentDTO);
+        mockMvc.perform(get("/analyzeScores/{studentId}", studentDTO.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/analyzeScores/{studentId}", 999L)).andExpect(status().isNotFound());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("diploma_analysis_seconds_count{batch=\"false\",}"));
+        assertTrue(metrics.contains("students_dao_save_seconds_bucket"));
+        assertTrue(metrics.contains("students_dao_lookups_total{result=\"miss\",}"));
+        assertTrue(metrics.contains("students_dao_size "));
+    }
 }
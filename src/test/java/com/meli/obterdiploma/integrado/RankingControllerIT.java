@@ -0,0 +1,72 @@
+package com.meli.obterdiploma.integrado;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RankingControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IStudentDAO studentDAO;
+
+    @BeforeEach
+    void setup() {
+        this.studentDAO.deleteAll();
+
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, List.of(new SubjectDTO("Math", 7.00))));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, List.of(new SubjectDTO("Math", 9.50))));
+        studentDAO.save(new StudentDTO(null, "Juliet Doe", "Blank", 0.00, List.of(new SubjectDTO("Math", 10.00))));
+    }
+
+    @Test
+    void top_returnStudentsByAverage_whenSuccess() throws Exception {
+        mockMvc.perform(get("/ranking/top").param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[0].studentName", CoreMatchers.is("Juliet Doe")))
+                .andExpect(jsonPath("$[1].studentName", CoreMatchers.is("Mary Doe")));
+    }
+
+    @Test
+    void honors_stopAtFirstAverageNotAboveNine() throws Exception {
+        studentDAO.delete(3L);
+
+        mockMvc.perform(get("/ranking/honors").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].studentName", CoreMatchers.is("Mary Doe")));
+    }
+
+    @Test
+    void rank_returnPosition_whenStudentExists() throws Exception {
+        mockMvc.perform(get("/ranking/rank/{studentId}", 1L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank", CoreMatchers.is(3)))
+                .andExpect(jsonPath("$.rankedStudents", CoreMatchers.is(3)));
+    }
+
+    @Test
+    void rank_returnNotFound_whenStudentNotExists() throws Exception {
+        mockMvc.perform(get("/ranking/rank/{studentId}", 999L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
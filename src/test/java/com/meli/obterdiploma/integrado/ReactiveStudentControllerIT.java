@@ -0,0 +1,95 @@
+package com.meli.obterdiploma.integrado;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReactiveStudentControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IStudentDAO studentDAO;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        this.studentDAO.deleteAll();
+    }
+
+    private StudentDTO student(String name, double score) {
+        return new StudentDTO(null, name, "Blank", 0.0, List.of(new SubjectDTO("Math", score)));
+    }
+
+    @Test
+    void registerStudent_completesAsynchronously_andStudentCanBeRead() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/reactive/student/registerStudent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student("John Doe", 10.0))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(registered)).andExpect(status().isOk());
+
+        Long id = studentDAO.listAllData().get(0).getId();
+        MvcResult analyzed = mockMvc.perform(get("/reactive/analyzeScores/{studentId}", id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(analyzed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", CoreMatchers.is("O aluno John Doe obteve uma média de 10. Parabéns!")));
+    }
+
+    @Test
+    void getStudent_returnNotFound_whenStudentNotExists() throws Exception {
+        MvcResult result = mockMvc.perform(get("/reactive/student/getStudent/{id}", 999L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.name", CoreMatchers.is("StudentNotFoundException")));
+    }
+
+    @Test
+    void listStudents_streamsOneStudentPerLine_whenNdjsonIsAccepted() throws Exception {
+        studentDAO.save(student("John Doe", 10.0));
+        studentDAO.save(student("Mary Doe", 7.0));
+
+        MvcResult result = mockMvc.perform(get("/reactive/student/listStudents").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).trim().split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], StudentDTO.class).getStudentName()).isEqualTo("Mary Doe");
+    }
+}
@@ -3,7 +3,6 @@ package com.meli.obterdiploma.integrado;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.meli.obterdiploma.exception.StudentNotFoundException;
 import com.meli.obterdiploma.model.StudentDTO;
 import com.meli.obterdiploma.model.SubjectDTO;
 import com.meli.obterdiploma.repository.IStudentDAO;
@@ -16,19 +15,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Log4j2
@@ -65,6 +74,19 @@ public class StudentControllerIT {
         response.andExpect(status().isOk());
     }
 
+    @Test
+    void registerStudent_acceptScoresWithMoreThanTwoDecimals_andStoreThemRounded() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 7.333));
+
+        String studentAsJson = new ObjectMapper().writeValueAsString(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+
+        mockMvc.perform(post("/student/registerStudent").contentType(MediaType.APPLICATION_JSON).content(studentAsJson))
+                .andExpect(status().isOk());
+
+        assertThat(studentDAO.listAllData().get(0).getSubjects().get(0).getScore()).isEqualTo(7.33);
+    }
+
     @Test
     void registerStudent_throwMethodArgumentNotValidException_whenStudentNameIsEmpty() throws Exception {
         List<SubjectDTO> subjectDTOList = new ArrayList<>();
@@ -250,15 +272,13 @@ public class StudentControllerIT {
     }
 
     @Test
-    void getStudent_throwStudentNotFoundException_whenUsingInexistentStudentId() throws Exception {
+    void getStudent_returnNotFound_whenUsingInexistentStudentId() throws Exception {
 
         ResultActions response = mockMvc.perform(get("/student/getStudent/{id}", Long.MAX_VALUE).contentType(MediaType.APPLICATION_JSON));
 
         response.andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.description", CoreMatchers.is(String.format("O aluno com Id %d não está registrado.", Long.MAX_VALUE))))
-                .andExpect(result -> assertTrue(
-                        result.getResolvedException() instanceof StudentNotFoundException
-                ));
+                .andExpect(jsonPath("$.name", CoreMatchers.is("StudentNotFoundException")))
+                .andExpect(jsonPath("$.description", CoreMatchers.is(String.format("O aluno com Id %d não está registrado.", Long.MAX_VALUE))));
     }
 
     @Test
@@ -300,10 +320,246 @@ public class StudentControllerIT {
         response.andExpect(status().isOk());
 
         ObjectMapper mapper = new ObjectMapper();
-        Set<StudentDTO> studentDTOSet = mapper.readValue(response.andReturn().getResponse().getContentAsString(), new TypeReference<HashSet<StudentDTO>>() {});
+        Set<StudentDTO> studentDTOSet = mapper.readValue(response.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<HashSet<StudentDTO>>() {});
 
         assertTrue(studentDTOSet.contains(studentDTO));
     }
 
+    @Test
+    void listStudents_returnsNewStudents_afterPreviousListing() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+        mockMvc.perform(get("/student/listStudents").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        StudentDTO newStudent = new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList);
+        studentDAO.save(newStudent);
+
+        ResultActions response = mockMvc.perform(get("/student/listStudents").contentType(MediaType.APPLICATION_JSON));
+
+        ObjectMapper mapper = new ObjectMapper();
+        Set<StudentDTO> studentDTOSet = mapper.readValue(response.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<HashSet<StudentDTO>>() {});
+
+        assertTrue(studentDTOSet.contains(newStudent));
+    }
+
+    @Test
+    void listStudentsPage_followsCursorUntilLastPage() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+        studentDAO.save(new StudentDTO(null, "Juliet Doe", "Blank", 0.00, subjectDTOList));
+
+        ResultActions firstPage = mockMvc.perform(get("/student/listStudentsPage")
+                .param("limit", "2").param("includeTotal", "true"));
+
+        firstPage.andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.students[0].studentName", CoreMatchers.is("John Doe")))
+                .andExpect(jsonPath("$.students[1].studentName", CoreMatchers.is("Mary Doe")))
+                .andExpect(jsonPath("$.total", CoreMatchers.is(3)));
+
+        String cursor = new ObjectMapper().readTree(firstPage.andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/student/listStudentsPage").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.students[0].studentName", CoreMatchers.is("Juliet Doe")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.total").doesNotExist());
+    }
+
+    @Test
+    void listStudentsPage_returnBadRequest_whenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/student/listStudentsPage").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name", CoreMatchers.is("InvalidCursorException")));
+    }
+
+    @Test
+    void registerStudents_registersValidStudentsAndReportsInvalidOnes() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        List<StudentDTO> students = new ArrayList<>();
+        students.add(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+        students.add(new StudentDTO(null, "juan", "Blank", 0.00, subjectDTOList));
+        students.add(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+
+        String studentsAsJson = new ObjectMapper().writeValueAsString(students);
+
+        ResultActions response = mockMvc.perform(post("/student/registerStudents").contentType(MediaType.APPLICATION_JSON).content(studentsAsJson));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.registeredIds.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.errors.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.errors[0].index", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.errors[0].errors[0].name", CoreMatchers.is("studentName")))
+                .andExpect(jsonPath("$.errors[0].errors[0].description", CoreMatchers.is("O nome do aluno deve começar com letra maiúscula.")));
+
+        assertThat(studentDAO.listAllData().size()).isEqualTo(2);
+    }
+
+    @Test
+    void searchStudents_matchIgnoringCaseAndAccents() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        studentDAO.save(new StudentDTO(null, "José Muñoz", "Blank", 0.00, subjectDTOList));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+
+        mockMvc.perform(get("/student/searchStudents").param("name", "MUNOZ").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].id", CoreMatchers.is(1)));
+
+        mockMvc.perform(get("/student/searchStudents").param("name", "ma").param("prefix", "true").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].id", CoreMatchers.is(2)));
+
+        mockMvc.perform(get("/student/searchStudents").param("name", "ma").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name", CoreMatchers.is("InvalidSearchQueryException")));
+    }
+
+    @Test
+    void getStudent_returnNotModified_untilStudentChanges() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+
+        StudentDTO studentDTO = new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList);
+        studentDAO.save(studentDTO);
+
+        String etag = mockMvc.perform(get("/student/getStudent/{id}", studentDTO.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/student/getStudent/{id}", studentDTO.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        studentDTO.setStudentName("John Updated");
+        studentDAO.save(studentDTO);
+
+        mockMvc.perform(get("/student/getStudent/{id}", studentDTO.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentName", CoreMatchers.is("John Updated")));
+    }
+
+    @Test
+    void listStudents_returnNotModified_untilCollectionChanges() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+
+        String etag = mockMvc.perform(get("/student/listStudents"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/student/listStudents").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+
+        mockMvc.perform(get("/student/listStudents").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(2)));
+    }
+
+    @Test
+    void exportStudents_streamOneStudentPerLine() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Matemática", 10.00));
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, subjectDTOList));
+
+        MvcResult result = mockMvc.perform(get("/student/exportStudents"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(new ObjectMapper().readValue(lines[1], StudentDTO.class).getStudentName()).isEqualTo("Mary Doe");
+    }
+
+    @Test
+    void exportStudents_compressWithGzip_whenAccepted() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+
+        MvcResult result = mockMvc.perform(get("/student/exportStudents").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+
+        assertThat(ndjson).endsWith("\n");
+        assertThat(new ObjectMapper().readValue(ndjson.trim(), StudentDTO.class).getMessage())
+                .isEqualTo("O aluno John Doe obteve uma média de 10. Parabéns!");
+    }
 
+    @Test
+    void exportStudents_skipGzip_whenRefusedWithZeroQuality() throws Exception {
+        List<SubjectDTO> subjectDTOList = new ArrayList<>();
+        subjectDTOList.add(new SubjectDTO("Math", 10.00));
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, subjectDTOList));
+
+        MvcResult result = mockMvc.perform(get("/student/exportStudents").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        String ndjson = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(new ObjectMapper().readValue(ndjson.trim(), StudentDTO.class).getStudentName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    void importStudents_registerValidLines_andReportInvalidOnes() throws Exception {
+        String ndjson = "{\"studentName\":\"John Doe\",\"subjects\":[{\"name\":\"Math\",\"score\":10.0}]}\n"
+                + "{\"studentName\":\"john doe\",\"subjects\":[{\"name\":\"Math\",\"score\":10.0}]}\n"
+                + "{\"studentName\":\"Mary Doe\",\"subjects\":[{\"name\":\"Math\",\"score\":8.0}]}\n";
+
+        mockMvc.perform(post("/student/importStudents")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.rejected", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.errors[0].index", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.errors[0].errors[0].name", CoreMatchers.is("studentName")));
+
+        assertThat(studentDAO.listAllData().stream().map(StudentDTO::getStudentName).toArray())
+                .containsExactly("John Doe", "Mary Doe");
+    }
+
+    @Test
+    void importStudents_acceptGzipBody() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write("{\"studentName\":\"John Doe\",\"subjects\":[{\"name\":\"Math\",\"score\":10.0}]}\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockMvc.perform(post("/student/importStudents")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header("Content-Encoding", "gzip")
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", CoreMatchers.is(1)));
+    }
 }
@@ -0,0 +1,80 @@
+package com.meli.obterdiploma.integrado;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import com.meli.obterdiploma.repository.IStudentDAO;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SubjectControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IStudentDAO studentDAO;
+
+    @BeforeEach
+    void setup() {
+        this.studentDAO.deleteAll();
+
+        studentDAO.save(new StudentDTO(null, "John Doe", "Blank", 0.00, List.of(new SubjectDTO("Math", 5.00), new SubjectDTO("Chemistry", 9.00))));
+        studentDAO.save(new StudentDTO(null, "Mary Doe", "Blank", 0.00, List.of(new SubjectDTO("Math", 8.50))));
+        studentDAO.save(new StudentDTO(null, "Juliet Doe", "Blank", 0.00, List.of(new SubjectDTO("Chemistry", 4.00))));
+    }
+
+    @Test
+    void students_returnOnlyStudentsOfTheSubject() throws Exception {
+        mockMvc.perform(get("/subject/{subject}/students", "Math").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[0].studentName", CoreMatchers.is("John Doe")));
+    }
+
+    @Test
+    void students_returnScoresBelowLimit_whenBelowIsGiven() throws Exception {
+        mockMvc.perform(get("/subject/{subject}/students", "Chemistry").param("below", "6").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].studentName", CoreMatchers.is("Juliet Doe")));
+    }
+
+    @Test
+    void students_returnAtMostLimitStudents() throws Exception {
+        mockMvc.perform(get("/subject/{subject}/students", "Math").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].studentName", CoreMatchers.is("John Doe")));
+    }
+
+    @Test
+    void students_returnBadRequest_whenBelowIsNotFinite() throws Exception {
+        mockMvc.perform(get("/subject/{subject}/students", "Math").param("below", "NaN").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name", CoreMatchers.is("InvalidScoreException")));
+    }
+
+    @Test
+    void histogram_countScoresPerBucket() throws Exception {
+        mockMvc.perform(get("/subject/{subject}/histogram", "Math").param("bucketWidth", "5").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.buckets.length()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.buckets[0].count", CoreMatchers.is(0)))
+                .andExpect(jsonPath("$.buckets[1].count", CoreMatchers.is(2)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.meli.obterdiploma.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryStudentSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<StudentDTO> students = List.of(
+            new StudentDTO(7L, "Núñez Peña", null, null, List.of(new SubjectDTO("Matemática", 7.5))),
+            new StudentDTO(2L, "John Doe", "Blank", 0.0, List.of(new SubjectDTO("Math", 10.0), new SubjectDTO("Chemistry", 8.25)))
+    );
+
+    @Test
+    void write_thenOpen_decodesRecordsInIdOrder() throws Exception {
+        File file = dir.resolve("users.bin").toFile();
+        BinaryStudentSnapshot.write(file, students);
+
+        BinaryStudentSnapshot snapshot = BinaryStudentSnapshot.open(file);
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.decode(1)).isEqualTo(students.get(0));
+        assertThat(snapshot.decode(1).getId()).isEqualTo(7L);
+        assertThat(snapshot.decode(0).getId()).isEqualTo(2L);
+        assertThat(snapshot.asList()).containsExactly(students.get(1), students.get(0));
+    }
+
+    @Test
+    void write_overwritesLargerFileWithoutLeftoverBytes() throws Exception {
+        File file = dir.resolve("users.bin").toFile();
+        Files.write(file.toPath(), new byte[64 * 1024]);
+
+        BinaryStudentSnapshot.write(file, students.subList(0, 1));
+
+        assertThat(BinaryStudentSnapshot.open(file).asList()).containsExactly(students.get(0));
+        assertThat(file.length()).isLessThan(1024);
+    }
+
+    @Test
+    void open_rejectsFilesWithoutMagic() throws Exception {
+        File file = dir.resolve("users.bin").toFile();
+        Files.writeString(file.toPath(), "[{\"id\":1}]");
+
+        assertThrows(IOException.class, () -> BinaryStudentSnapshot.open(file));
+    }
+
+    @Test
+    void open_rejectsEmptyFile() throws Exception {
+        File file = dir.resolve("users.bin").toFile();
+        Files.write(file.toPath(), new byte[0]);
+
+        assertThrows(IOException.class, () -> BinaryStudentSnapshot.open(file));
+    }
+
+    @Test
+    void open_rejectsTruncatedFile() throws Exception {
+        File file = dir.resolve("users.bin").toFile();
+        BinaryStudentSnapshot.write(file, students);
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        // Corta no meio do cabecalho, no meio do indice e logo depois dele.
+        for (int length : new int[] {7, 20, 10 + 2 * 12}) {
+            Files.write(file.toPath(), Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> BinaryStudentSnapshot.open(file));
+        }
+    }
+
+    @Test
+    void decode_failsOnTruncatedRecord() throws Exception {
+        File file = dir.resolve("users.bin").toFile();
+        BinaryStudentSnapshot.write(file, students);
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 4));
+
+        BinaryStudentSnapshot snapshot = BinaryStudentSnapshot.open(file);
+
+        assertThat(snapshot.decode(0).getId()).isEqualTo(2L);
+        assertThrows(UncheckedIOException.class, () -> snapshot.decode(1));
+    }
+
+    @Test
+    void converter_roundTripsJson() throws Exception {
+        File json = dir.resolve("users.json").toFile();
+        File bin = dir.resolve("users.bin").toFile();
+        File back = dir.resolve("back.json").toFile();
+        new ObjectMapper().writeValue(json, students);
+
+        assertThat(StudentSnapshotConverter.convert(json, bin)).isEqualTo(2);
+        assertThat(StudentSnapshotConverter.convert(bin, back)).isEqualTo(2);
+
+        List<StudentDTO> reloaded = List.of(new ObjectMapper().readValue(back, StudentDTO[].class));
+        assertThat(reloaded).containsExactlyInAnyOrderElementsOf(students);
+    }
+}
@@ -0,0 +1,192 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dispara save, delete, findById e listAllData de varias threads ao mesmo tempo e confere
+ * as invariantes do StudentDAO: ids unicos, registros nunca misturados entre escritas e
+ * journal coerente com a memoria depois de reiniciar.
+ */
+class StudentDAOConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 2000;
+    private static final int HOT_IDS = 32;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.writeString(dir.resolve("users.json"), "[]");
+    }
+
+    private Properties properties(int compactionThreshold) {
+        Properties properties = new Properties();
+        properties.setProperty("api.data.dir", dir.toString());
+        properties.setProperty("api.persistence.mode", "journal");
+        properties.setProperty("api.journal.compaction-threshold", String.valueOf(compactionThreshold));
+        return properties;
+    }
+
+    /**
+     * Nome e assuntos sao derivados da mesma revisao; um registro com valores de revisoes
+     * diferentes denuncia uma escrita lida pela metade.
+     */
+    private static StudentDTO revision(Long id, int revision) {
+        List<SubjectDTO> subjects = List.of(
+                new SubjectDTO("Rev " + revision, (double) (revision % 11)),
+                new SubjectDTO("Rev " + revision, (double) (revision % 11)));
+        return new StudentDTO(id, "Student " + revision, null, null, subjects);
+    }
+
+    private static void assertConsistent(StudentDTO stu) {
+        String revision = stu.getStudentName().substring("Student ".length());
+        assertThat(stu.getSubjects()).allSatisfy(subject -> assertThat(subject.getName()).isEqualTo("Rev " + revision));
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) future.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    void concurrentRegistrations_receiveUniqueIds() throws Exception {
+        StudentDAO dao = new StudentDAO(properties(100_000));
+        ConcurrentLinkedQueue<Long> ids = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                StudentDTO stu = revision(null, i);
+                dao.save(stu);
+                ids.add(stu.getId());
+            }
+        });
+
+        assertThat(new HashSet<>(ids)).hasSize(THREADS * OPERATIONS);
+        assertThat(dao.listAllData()).hasSize(THREADS * OPERATIONS);
+    }
+
+    @Test
+    void mixedOperations_keepRecordsWholeAndJournalInOrder() throws Exception {
+        StudentDAO dao = this.mixedOperations(properties(100_000));
+
+        assertThat(this.reload(properties(100_000))).isEqualTo(names(dao));
+    }
+
+    @Test
+    void mixedOperations_survivePersistenceWithConcurrentCompaction() throws Exception {
+        // Compactacoes frequentes para que a rotacao do journal concorra com as escritas.
+        StudentDAO dao = this.mixedOperations(properties(200));
+        dao.shutdown();
+
+        assertThat(this.reload(properties(200))).isEqualTo(names(dao));
+    }
+
+    private Map<Long, String> reload(Properties properties) {
+        return names(new StudentDAO(properties));
+    }
+
+    private static Map<Long, String> names(StudentDAO dao) {
+        return dao.listAllData().stream().collect(Collectors.toMap(StudentDTO::getId, StudentDTO::getStudentName));
+    }
+
+    private StudentDAO mixedOperations(Properties properties) throws Exception {
+        StudentDAO dao = new StudentDAO(properties);
+        for (int i = 0; i < HOT_IDS; i++) dao.save(revision(null, 0));
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                long id = random.nextLong(1, HOT_IDS + 1);
+
+                switch (random.nextInt(5)) {
+                    case 0:
+                    case 1:
+                        dao.save(revision(id, random.nextInt(1000)));
+                        break;
+                    case 2:
+                        dao.delete(id);
+                        break;
+                    case 3:
+                        try {
+                            StudentDTO found = dao.findById(id);
+                            assertThat(found.getId()).isEqualTo(id);
+                            assertConsistent(found);
+                        } catch (StudentNotFoundException e) {
+                            // removido por outra thread
+                        }
+                        break;
+                    default:
+                        List<StudentDTO> all = dao.listAllData();
+                        assertThat(all.stream().map(StudentDTO::getId).distinct().count()).isEqualTo(all.size());
+                        all.forEach(StudentDAOConcurrencyTest::assertConsistent);
+                }
+            }
+        });
+
+        return dao;
+    }
+
+    @Test
+    void concurrentRegistrationsAndDeletes_neverReuseIds() throws Exception {
+        StudentDAO dao = new StudentDAO(properties(50));
+        ConcurrentLinkedQueue<Long> ids = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < OPERATIONS / 4; i++) {
+                StudentDTO stu = revision(null, i);
+                dao.save(stu);
+                ids.add(stu.getId());
+                dao.delete(stu.getId());
+            }
+        });
+
+        Set<Long> unique = new HashSet<>(ids);
+        assertThat(unique).hasSize(ids.size());
+        assertThat(dao.listAllData()).isEmpty();
+
+        dao.shutdown();
+        StudentDTO next = revision(null, 0);
+        new StudentDAO(properties(50)).save(next);
+        assertThat(next.getId()).isGreaterThan(unique.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+}
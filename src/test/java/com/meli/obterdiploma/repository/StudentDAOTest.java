@@ -0,0 +1,197 @@
+package com.meli.obterdiploma.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class StudentDAOTest {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.writeString(dir.resolve("users.json"), "[]");
+    }
+
+    private Properties properties(String mode) {
+        Properties properties = new Properties();
+        properties.setProperty("api.data.dir", dir.toString());
+        properties.setProperty("api.persistence.mode", mode);
+        properties.setProperty("api.persistence.flush-interval-ms", "3600000");
+        properties.setProperty("api.persistence.flush-batch-size", "1000");
+        return properties;
+    }
+
+    private StudentDTO student(String name) {
+        return new StudentDTO(null, name, "Blank", 0.0, List.of(new SubjectDTO("Math", 10.0)));
+    }
+
+    @Test
+    void journalMode_reloadsWritesAfterRestart() {
+        StudentDAO dao = new StudentDAO(properties("journal"));
+        dao.save(student("John Doe"));
+        dao.save(student("Mary Doe"));
+        dao.delete(1L);
+
+        StudentDAO reloaded = new StudentDAO(properties("journal"));
+
+        assertThat(reloaded.listAllData()).extracting(StudentDTO::getStudentName).containsExactly("Mary Doe");
+    }
+
+    @Test
+    void writeBehindMode_defersWritesUntilFlush() throws Exception {
+        StudentDAO dao = new StudentDAO(properties("write-behind"));
+        dao.save(student("John Doe"));
+
+        assertThat(Files.readString(dir.resolve("users.json"))).isEqualTo("[]");
+        assertThat(dir.resolve("users.journal")).doesNotExist();
+
+        dao.flush();
+
+        StudentDAO reloaded = new StudentDAO(properties("write-behind"));
+        assertThat(reloaded.listAllData()).extracting(StudentDTO::getStudentName).containsExactly("John Doe");
+    }
+
+    @Test
+    void writeBehindMode_flushesOnShutdown() {
+        StudentDAO dao = new StudentDAO(properties("write-behind"));
+        dao.save(student("John Doe"));
+        dao.shutdown();
+
+        StudentDAO reloaded = new StudentDAO(properties("write-behind"));
+        assertThat(reloaded.listAllData()).hasSize(1);
+    }
+
+    @Test
+    void sync_inJournalMode_forcesJournalWithoutRewritingSnapshot() throws Exception {
+        StudentDAO dao = new StudentDAO(properties("journal"));
+        dao.save(student("John Doe"));
+        dao.sync();
+
+        assertThat(Files.readString(dir.resolve("users.json"))).isEqualTo("[]");
+        assertThat(new StudentDAO(properties("journal")).listAllData()).extracting(StudentDTO::getStudentName).containsExactly("John Doe");
+    }
+
+    @Test
+    void sync_inWriteBehindMode_writesPendingSnapshot() throws Exception {
+        StudentDAO dao = new StudentDAO(properties("write-behind"));
+        dao.save(student("John Doe"));
+        dao.sync();
+
+        assertThat(Files.readString(dir.resolve("users.json"))).contains("John Doe");
+        assertThat(dir.resolve("users.json.tmp")).doesNotExist();
+    }
+
+    @Test
+    void findAll_reusesPublishedSnapshotUntilNextWrite() {
+        StudentDAO dao = new StudentDAO(properties("journal"));
+        StudentDTO stu = student("John Doe");
+        dao.save(stu);
+
+        Set<StudentDTO> first = dao.findAll();
+        stu.setStudentName("Changed Outside");
+
+        assertThat(dao.findAll()).isSameAs(first);
+        assertThat(first).extracting(StudentDTO::getStudentName).containsExactly("John Doe");
+
+        dao.save(student("Mary Doe"));
+
+        assertThat(dao.findAll()).isNotSameAs(first).hasSize(2);
+        assertThat(first).hasSize(1);
+    }
+
+    @Test
+    void save_neverReusesIds_afterDeleteCompactionAndRestart() {
+        StudentDAO dao = new StudentDAO(properties("journal"));
+        dao.save(student("John Doe"));
+        dao.save(student("Mary Doe"));
+        dao.delete(2L);
+        dao.flush();
+
+        StudentDAO reloaded = new StudentDAO(properties("journal"));
+        StudentDTO stu = student("Juliet Doe");
+        reloaded.save(stu);
+
+        assertThat(stu.getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void save_materializesAverageAndMessage() {
+        StudentDAO dao = new StudentDAO(properties("journal"));
+        StudentDTO stu = new StudentDTO(null, "John Doe", "Blank", 0.0, List.of(
+                new SubjectDTO("Matemática", 7.0),
+                new SubjectDTO("Educacao Física", 8.5),
+                new SubjectDTO("Espanhol", 10.0)));
+        dao.save(stu);
+
+        StudentDTO stored = dao.findById(stu.getId());
+        assertThat(stored.getAverageScore()).isEqualTo(8.5);
+        assertThat(stored.getMessage()).isEqualTo("O aluno John Doe obteve uma média de 8,5. Você pode melhorar.");
+        assertThat(stu.getMessage()).isEqualTo(stored.getMessage());
+
+        stu.setSubjects(List.of(new SubjectDTO("Matemática", 10.0)));
+        dao.save(stu);
+
+        assertThat(dao.findById(stu.getId()).getMessage()).isEqualTo("O aluno John Doe obteve uma média de 10. Parabéns!");
+    }
+
+    @Test
+    void load_recalculatesStaleAverages() throws Exception {
+        Files.writeString(dir.resolve("users.json"), "[{\"id\":1,\"studentName\":\"John Doe\",\"message\":\"Blank\","
+                + "\"averageScore\":0.0,\"subjects\":[{\"name\":\"Math\",\"score\":10.0}]}]");
+
+        StudentDAO dao = new StudentDAO(properties("journal"));
+
+        assertThat(dao.findById(1L).getAverageScore()).isEqualTo(10.0);
+        assertThat(dao.findById(1L).getMessage()).isEqualTo("O aluno John Doe obteve uma média de 10. Parabéns!");
+    }
+
+    @Test
+    void find_returnsEmptyForMissingIds_andFindByIdThrowsWithoutStackTrace() {
+        StudentDAO dao = new StudentDAO(properties("journal"));
+        StudentDTO stu = student("John Doe");
+        dao.save(stu);
+
+        assertThat(dao.find(stu.getId())).hasValueSatisfying(found -> assertThat(found.getStudentName()).isEqualTo("John Doe"));
+        assertThat(dao.find(99L)).isEmpty();
+        assertThat(dao.find(null)).isEmpty();
+
+        StudentNotFoundException e = catchThrowableOfType(() -> dao.findById(99L), StudentNotFoundException.class);
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getError().getDescription()).isEqualTo("O aluno com Id 99 não está registrado.");
+    }
+
+    @Test
+    void load_keepsStudentsWithScoresOutOfRangeThroughCompaction() throws Exception {
+        Files.writeString(dir.resolve("users.json"), "[{\"id\":1,\"studentName\":\"John Doe\",\"subjects\":[{\"name\":\"Math\",\"score\":1000.0}]},"
+                + "{\"id\":2,\"studentName\":\"Mary Doe\",\"subjects\":[{\"name\":\"Math\",\"score\":7.333}]}]");
+
+        StudentDAO dao = new StudentDAO(properties("journal"));
+
+        assertThat(dao.find(1L)).isEmpty();
+        assertThat(dao.findById(2L).getSubjects().get(0).getScore()).isEqualTo(7.33);
+
+        dao.save(student("Jane Doe"));
+        dao.flush();
+
+        List<StudentDTO> onDisk = new ObjectMapper().readValue(dir.resolve("users.json").toFile(), new TypeReference<List<StudentDTO>>() {});
+        assertThat(onDisk).extracting(StudentDTO::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        StudentDTO kept = onDisk.stream().filter(stu -> stu.getId() == 1L).findFirst().orElseThrow();
+        assertThat(kept.getSubjects().get(0).getScore()).isEqualTo(1000.0);
+    }
+}
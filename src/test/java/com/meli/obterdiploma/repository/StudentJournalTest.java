@@ -0,0 +1,128 @@
+package com.meli.obterdiploma.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private StudentDTO student(Long id, String name) {
+        return new StudentDTO(id, name, "Blank", 0.0, List.of(new SubjectDTO("Math", 10.0)));
+    }
+
+    @Test
+    void replay_appliesSavesAndDeletesInOrder() {
+        File file = dir.resolve("users.journal").toFile();
+        StudentJournal journal = new StudentJournal(file, new ObjectMapper());
+
+        journal.appendSave(student(1L, "John Doe"));
+        journal.appendSave(student(2L, "Mary Doe"));
+        journal.appendSave(student(1L, "John Updated"));
+        journal.appendDelete(2L);
+        journal.close();
+
+        Map<Long, StudentDTO> students = new HashMap<>();
+        new StudentJournal(file, new ObjectMapper()).replay(students, id -> {});
+
+        assertThat(students).containsOnlyKeys(1L);
+        assertThat(students.get(1L).getStudentName()).isEqualTo("John Updated");
+    }
+
+    @Test
+    void replay_ignoresTruncatedLastRecord() throws Exception {
+        File file = dir.resolve("users.journal").toFile();
+        StudentJournal journal = new StudentJournal(file, new ObjectMapper());
+
+        journal.appendSave(student(1L, "John Doe"));
+        journal.close();
+        Files.write(file.toPath(), "{\"op\":\"SAVE\",\"stud".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        Map<Long, StudentDTO> students = new HashMap<>();
+        StudentJournal reloaded = new StudentJournal(file, new ObjectMapper());
+        reloaded.replay(students, id -> {});
+
+        assertThat(students).containsOnlyKeys(1L);
+        assertThat(reloaded.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replay_truncatesTornRecord_soLaterAppendsSurviveTheNextRestart() throws Exception {
+        File file = dir.resolve("users.journal").toFile();
+        StudentJournal journal = new StudentJournal(file, new ObjectMapper());
+
+        journal.appendSave(student(1L, "John Doe"));
+        journal.close();
+        Files.write(file.toPath(), "{\"op\":\"SAVE\",\"stud".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        StudentJournal restarted = new StudentJournal(file, new ObjectMapper());
+        restarted.replay(new HashMap<>(), id -> {});
+        restarted.appendSave(student(2L, "Mary Doe"));
+        restarted.appendSave(student(3L, "Juliet Doe"));
+        restarted.close();
+
+        Map<Long, StudentDTO> students = new HashMap<>();
+        AtomicLong lastId = new AtomicLong();
+        new StudentJournal(file, new ObjectMapper()).replay(students, id -> lastId.accumulateAndGet(id, Math::max));
+
+        assertThat(students).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(lastId.get()).isEqualTo(3L);
+    }
+
+    @Test
+    void replay_skipsCorruptRecordInTheMiddle_andKeepsLaterRecords() throws Exception {
+        File file = dir.resolve("users.journal").toFile();
+        StudentJournal journal = new StudentJournal(file, new ObjectMapper());
+
+        journal.appendSave(student(1L, "John Doe"));
+        journal.close();
+        Files.write(file.toPath(), "{\"op\":\"SAVE\",\"stud\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        journal = new StudentJournal(file, new ObjectMapper());
+        journal.appendSave(student(2L, "Mary Doe"));
+        journal.close();
+        long length = file.length();
+
+        Map<Long, StudentDTO> students = new HashMap<>();
+        StudentJournal reloaded = new StudentJournal(file, new ObjectMapper());
+        reloaded.replay(students, id -> {});
+
+        assertThat(students).containsOnlyKeys(1L, 2L);
+        assertThat(reloaded.size()).isEqualTo(2);
+        assertThat(file.length()).isEqualTo(length);
+    }
+
+    @Test
+    void rotate_keepsRecordsUntilSnapshotIsDiscarded() throws Exception {
+        File file = dir.resolve("users.journal").toFile();
+        StudentJournal journal = new StudentJournal(file, new ObjectMapper());
+
+        journal.appendSave(student(1L, "John Doe"));
+        journal.rotate(() -> null);
+        journal.appendSave(student(2L, "Mary Doe"));
+
+        Map<Long, StudentDTO> students = new HashMap<>();
+        new StudentJournal(file, new ObjectMapper()).replay(students, id -> {});
+        assertThat(students).containsOnlyKeys(1L, 2L);
+
+        journal.discardRotated();
+        students.clear();
+        new StudentJournal(file, new ObjectMapper()).replay(students, id -> {});
+        assertThat(students).containsOnlyKeys(2L);
+    }
+}
@@ -0,0 +1,79 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentLeaderboardTest {
+
+    private static StudentRecord record(long id, double... scores) {
+        List<SubjectDTO> subjects = new ArrayList<>();
+        for (double score : scores) subjects.add(new SubjectDTO("Math", score));
+        return StudentRecord.of(new StudentDTO(id, "Student " + id, null, null, subjects));
+    }
+
+    @Test
+    void top_ordersByAverageThenId() {
+        StudentLeaderboard leaderboard = new StudentLeaderboard();
+        leaderboard.add(record(1L, 7.0));
+        leaderboard.add(record(2L, 9.5));
+        leaderboard.add(record(3L, 7.0));
+        leaderboard.add(record(4L, 10.0, 9.5));
+
+        assertThat(leaderboard.top(10)).containsExactly(4L, 2L, 1L, 3L);
+        assertThat(leaderboard.bottom(2)).containsExactly(3L, 1L);
+        assertThat(leaderboard.rank(3L)).isEqualTo(4);
+    }
+
+    @Test
+    void add_replacesPreviousPosition_andSkipsStudentsWithoutScores() {
+        StudentLeaderboard leaderboard = new StudentLeaderboard();
+        leaderboard.add(record(1L, 5.0));
+        leaderboard.add(record(2L, 6.0));
+        leaderboard.add(record(1L, 8.0));
+        leaderboard.add(record(3L));
+
+        assertThat(leaderboard.top(10)).containsExactly(1L, 2L);
+        assertThat(leaderboard.rank(3L)).isZero();
+        assertThat(leaderboard.size()).isEqualTo(2);
+    }
+
+    @Test
+    void randomUpdates_matchSortedReference() {
+        StudentLeaderboard leaderboard = new StudentLeaderboard();
+        Map<Long, StudentRecord> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(2_000) + 1;
+
+            if (random.nextInt(4) == 0) {
+                StudentRecord removed = reference.remove(id);
+                if (removed != null) leaderboard.remove(removed);
+            } else {
+                StudentRecord record = record(id, random.nextInt(1001) / 100.0, random.nextInt(1001) / 100.0);
+                reference.put(id, record);
+                leaderboard.add(record);
+            }
+        }
+
+        List<Long> expected = reference.values().stream()
+                .sorted(Comparator.comparing(StudentRecord::getAverage).reversed().thenComparing(StudentRecord::getId))
+                .map(StudentRecord::getId)
+                .collect(Collectors.toList());
+
+        assertThat(leaderboard.size()).isEqualTo(expected.size());
+        assertThat(leaderboard.top(expected.size())).isEqualTo(expected);
+        for (int i = 0; i < expected.size(); i += 97) assertThat(leaderboard.rank(expected.get(i))).isEqualTo(i + 1);
+    }
+}
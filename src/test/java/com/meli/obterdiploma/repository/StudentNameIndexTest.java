@@ -0,0 +1,51 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentNameIndexTest {
+
+    private static StudentRecord record(long id, String name) {
+        return StudentRecord.of(new StudentDTO(id, name, null, null, null));
+    }
+
+    private static StudentNameIndex index() {
+        StudentNameIndex index = new StudentNameIndex();
+        index.add(record(1L, "John Doe"));
+        index.add(record(2L, "José Muñoz"));
+        index.add(record(3L, "Joana Doe"));
+        return index;
+    }
+
+    @Test
+    void searchPrefix_matchesAnyWordIgnoringCaseAndAccents() {
+        StudentNameIndex index = index();
+
+        assertThat(index.searchPrefix("jo", 10)).containsExactly(3L, 1L, 2L);
+        assertThat(index.searchPrefix("MUN", 10)).containsExactly(2L);
+        assertThat(index.searchPrefix("doe", 1)).containsExactly(1L);
+    }
+
+    @Test
+    void searchContaining_findsFragmentsInsideTheName() {
+        StudentNameIndex index = index();
+
+        assertThat(index.searchContaining("noz", 10)).containsExactly(2L);
+        assertThat(index.searchContaining("n d", 10)).containsExactly(1L);
+        assertThat(index.searchContaining(" doe", 10)).containsExactly(1L, 3L);
+        assertThat(index.searchContaining("oe", 10)).isEmpty();
+        assertThat(index.searchContaining("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void remove_forgetsPreviousName() {
+        StudentNameIndex index = index();
+        index.remove(record(2L, "José Muñoz"));
+        index.add(record(2L, "Mary Doe"));
+
+        assertThat(index.searchContaining("munoz", 10)).isEmpty();
+        assertThat(index.searchPrefix("mary", 10)).containsExactly(2L);
+    }
+}
@@ -0,0 +1,51 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StudentRecordTest {
+
+    @Test
+    void of_storesScoresAsHundredths_andRoundTripsToDTO() {
+        StudentDTO stu = new StudentDTO(1L, "John Doe", null, null, List.of(
+                new SubjectDTO("Matemática", 7.0),
+                new SubjectDTO("Educacao Física", 8.75),
+                new SubjectDTO("Espanhol", 10.0)));
+
+        StudentRecord record = StudentRecord.of(stu);
+
+        assertThat(record.getScore(1)).isEqualTo((short) 875);
+        assertThat(record.getAverage()).isEqualTo(25.75 / 3);
+        assertThat(record.toDTO().getSubjects()).isEqualTo(stu.getSubjects());
+        assertThat(record.toDTO().getMessage()).isEqualTo("O aluno John Doe obteve uma média de 8,58. Você pode melhorar.");
+    }
+
+    @Test
+    void of_keepsMissingSubjectsAndScores() {
+        StudentRecord withoutSubjects = StudentRecord.of(new StudentDTO(1L, "John Doe", null, null, null));
+        assertThat(withoutSubjects.toDTO().getSubjects()).isNull();
+        assertThat(withoutSubjects.getAverage()).isNull();
+
+        List<SubjectDTO> subjects = new ArrayList<>();
+        subjects.add(new SubjectDTO("Math", null));
+        subjects.add(new SubjectDTO("Chemistry", 9.5));
+        StudentRecord withMissingScore = StudentRecord.of(new StudentDTO(2L, "Mary Doe", null, null, subjects));
+
+        assertThat(withMissingScore.getAverage()).isEqualTo(9.5);
+        assertThat(withMissingScore.toDTO().getSubjects().get(0).getScore()).isNull();
+    }
+
+    @Test
+    void of_rejectsScoresThatDoNotFitFixedPoint() {
+        StudentDTO stu = new StudentDTO(1L, "John Doe", null, null, List.of(new SubjectDTO("Math", 1000.0)));
+
+        assertThrows(IllegalArgumentException.class, () -> StudentRecord.of(stu));
+    }
+}
@@ -0,0 +1,43 @@
+package com.meli.obterdiploma.repository;
+
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentSubjectIndexTest {
+
+    private static StudentRecord record(long id, SubjectDTO... subjects) {
+        return StudentRecord.of(new StudentDTO(id, "Student " + id, null, null, List.of(subjects)));
+    }
+
+    @Test
+    void studentIdsBelow_returnsOnlyLowerScoresOfTheSubject() {
+        StudentSubjectIndex index = new StudentSubjectIndex();
+        index.add(record(1L, new SubjectDTO("Math", 5.5), new SubjectDTO("Chemistry", 3.0)));
+        index.add(record(2L, new SubjectDTO("Math", 6.0)));
+        index.add(record(3L, new SubjectDTO("Math", 2.0)));
+
+        assertThat(index.studentIds("Math", 10)).containsExactly(3L, 1L, 2L);
+        assertThat(index.studentIds("Math", 2)).containsExactly(3L, 1L);
+        assertThat(index.studentIdsBelow("Math", 600, 10)).containsExactly(3L, 1L);
+        assertThat(index.studentIds("History", 10)).isEmpty();
+    }
+
+    @Test
+    void remove_dropsPreviousScoresFromIdsAndHistogram() {
+        StudentSubjectIndex index = new StudentSubjectIndex();
+        StudentRecord before = record(1L, new SubjectDTO("Math", 5.5));
+        index.add(before);
+
+        index.remove(before);
+        index.add(record(1L, new SubjectDTO("Math", 9.0)));
+
+        assertThat(index.studentIdsBelow("Math", 600, 10)).isEmpty();
+        assertThat(index.histogram("Math")[550]).isZero();
+        assertThat(index.histogram("Math")[900]).isEqualTo(1);
+    }
+}
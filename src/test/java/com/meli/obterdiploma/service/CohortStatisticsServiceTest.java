@@ -0,0 +1,95 @@
+package com.meli.obterdiploma.service;
+
+import com.meli.obterdiploma.model.CohortStatisticsDTO;
+import com.meli.obterdiploma.model.StudentDTO;
+import com.meli.obterdiploma.model.SubjectDTO;
+import com.meli.obterdiploma.model.SubjectStatisticsDTO;
+import com.meli.obterdiploma.repository.StudentDAO;
+import com.meli.obterdiploma.repository.StudentRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@ExtendWith(MockitoExtension.class)
+class CohortStatisticsServiceTest {
+
+    @InjectMocks
+    CohortStatisticsService cohortStatisticsService;
+
+    @Mock
+    StudentDAO studentDAO;
+
+    private static StudentRecord record(long id, double... scores) {
+        List<SubjectDTO> subjects = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) subjects.add(new SubjectDTO("Subject " + i, scores[i]));
+        return StudentRecord.of(new StudentDTO(id, "Student " + id, null, null, subjects));
+    }
+
+    @Test
+    void getStatistics_aggregatesAveragesSubjectsAndHonors() {
+        Mockito.when(studentDAO.listAllRecords()).thenReturn(List.of(
+                record(1L, 10.0, 10.0),
+                record(2L, 6.0, 8.0),
+                record(3L, 9.0, 9.5),
+                record(4L, 4.0, 6.0)));
+
+        CohortStatisticsDTO statistics = cohortStatisticsService.getStatistics();
+
+        assertThat(statistics.getStudents()).isEqualTo(4);
+        assertThat(statistics.getScoredStudents()).isEqualTo(4);
+        assertThat(statistics.getAverageScore()).isEqualTo(7.8125);
+        assertThat(statistics.getStandardDeviation()).isCloseTo(1.9635, within(0.0001));
+        assertThat(statistics.getHonors()).isEqualTo(2);
+        assertThat(statistics.getPercentiles()).containsEntry("p25", 5.0).containsEntry("p50", 7.0).containsEntry("p99", 10.0);
+
+        SubjectStatisticsDTO first = statistics.getSubjects().get(0);
+        assertThat(first.getName()).isEqualTo("Subject 0");
+        assertThat(first.getCount()).isEqualTo(4);
+        assertThat(first.getAverageScore()).isEqualTo(7.25);
+        assertThat(first.getMinScore()).isEqualTo(4.0);
+        assertThat(first.getMaxScore()).isEqualTo(10.0);
+    }
+
+    @Test
+    void getStatistics_matchesSequentialComputation_forLargeCohort() {
+        Random random = new Random(42);
+        List<StudentRecord> records = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            records.add(record(id, random.nextInt(1001) / 100.0, random.nextInt(1001) / 100.0, random.nextInt(1001) / 100.0));
+        }
+        Mockito.when(studentDAO.listAllRecords()).thenReturn(records);
+
+        CohortStatisticsDTO statistics = cohortStatisticsService.getStatistics();
+
+        double mean = records.stream().mapToDouble(StudentRecord::getAverage).average().orElseThrow();
+        double variance = records.stream().mapToDouble(r -> Math.pow(r.getAverage() - mean, 2)).sum() / records.size();
+        long honors = records.stream().filter(r -> r.getAverage() > 9).count();
+
+        assertThat(statistics.getAverageScore()).isCloseTo(mean, within(1e-9));
+        assertThat(statistics.getStandardDeviation()).isCloseTo(Math.sqrt(variance), within(1e-9));
+        assertThat(statistics.getHonors()).isEqualTo(honors);
+        assertThat(statistics.getSubjects()).allSatisfy(subject -> assertThat(subject.getCount()).isEqualTo(20_000));
+    }
+
+    @Test
+    void getStatistics_leavesAveragesOut_whenNoStudentHasScores() {
+        Mockito.when(studentDAO.listAllRecords()).thenReturn(List.of());
+
+        CohortStatisticsDTO statistics = cohortStatisticsService.getStatistics();
+
+        assertThat(statistics.getStudents()).isZero();
+        assertThat(statistics.getAverageScore()).isNull();
+        assertThat(statistics.getPercentiles()).isNull();
+        assertThat(statistics.getSubjects()).isEmpty();
+    }
+}
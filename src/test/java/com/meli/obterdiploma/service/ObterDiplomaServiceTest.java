@@ -1,6 +1,6 @@
 package com.meli.obterdiploma.service;
 
-import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.DiplomaAnalysisDTO;
 import com.meli.obterdiploma.model.StudentDTO;
 import com.meli.obterdiploma.model.SubjectDTO;
 import com.meli.obterdiploma.repository.StudentDAO;
@@ -12,9 +12,10 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -35,94 +36,45 @@ class ObterDiplomaServiceTest {
     }
 
     @Test
-    @DisplayName("Test Student Analysis success when StudentDTO is proper")
-    void analyzeScores_returnsNewStudentDTO_whenSuccess() {
+    @DisplayName("Test Student Analysis returns the stored result without recalculating")
+    void analyzeScores_returnsStoredStudent_withoutRecalculating() {
         final ArrayList<SubjectDTO> subjectList = new ArrayList<>();
         subjectList.add(new SubjectDTO("Matemática", 7.0));
-        subjectList.add(new SubjectDTO("Educacao Física", 8.5));
         subjectList.add(new SubjectDTO("Espanhol", 10.0));
         studentDTO.setSubjects(subjectList);
 
-        Mockito.when(studentDAO.findById(ArgumentMatchers.any()))
-                .thenReturn(studentDTO);
+        Mockito.when(studentDAO.find(studentDTO.getId()))
+                .thenReturn(Optional.of(studentDTO));
 
-        StudentDTO studentResponse = obterDiplomaService.analyzeScores(ArgumentMatchers.anyLong());
-
-        assertThat(studentResponse).isNotNull();
-        assertThat(studentResponse.getStudentName()).isEqualTo("John Doe");
-        assertThat(studentResponse.getAverageScore()).isEqualTo(8.5);
-        assertThat(studentResponse.getMessage()).isEqualTo("O aluno John Doe obteve uma média de 8,5. Você pode melhorar.");
+        StudentDTO studentResponse = obterDiplomaService.analyzeScores(studentDTO.getId()).orElseThrow();
 
+        assertThat(studentResponse).isSameAs(studentDTO);
+        assertThat(studentResponse.getAverageScore()).isEqualTo(10.0);
+        assertThat(studentResponse.getMessage()).isEqualTo("Foo Message");
     }
 
     @Test
-    @DisplayName("Test Student Analysis success when StudentDTO is Proper and grades are perfect")
-    void analyzeScores_returnsNewStudentDTO_whenSuccessAndGradesPerfect() {
-        final ArrayList<SubjectDTO> subjectList = new ArrayList<>();
-        subjectList.add(new SubjectDTO("Matemática", 10.0));
-        subjectList.add(new SubjectDTO("Educacao Física", 10.0));
-        subjectList.add(new SubjectDTO("Espanhol", 10.0));
-        studentDTO.setSubjects(subjectList);
-
-        Mockito.when(studentDAO.findById(ArgumentMatchers.any()))
-                .thenReturn(studentDTO);
-
-        StudentDTO studentResponse = obterDiplomaService.analyzeScores(ArgumentMatchers.anyLong());
-
-        assertThat(studentResponse).isNotNull();
-        assertThat(studentResponse.getStudentName()).isEqualTo("John Doe");
-        assertThat(studentResponse.getAverageScore()).isEqualTo(10);
-        assertThat(studentResponse.getMessage()).isEqualTo("O aluno John Doe obteve uma média de 10. Parabéns!");
-    }
-
-
-    @Test
-    @DisplayName("Test Exception Throw when StudentDTO not exists")
-    void analyzeScores_throwsStudentNotFoundException_whenStudentNotExists() {
+    @DisplayName("Test empty result when StudentDTO not exists")
+    void analyzeScores_returnsEmpty_whenStudentNotExists() {
         Long inexistentId = 999L;
-        BDDMockito.given(studentDAO.findById(inexistentId))
-                .willThrow(new StudentNotFoundException(inexistentId));
+        BDDMockito.given(studentDAO.find(inexistentId))
+                .willReturn(Optional.empty());
 
-        assertThrows(StudentNotFoundException.class, () -> {
-            obterDiplomaService.analyzeScores(inexistentId);
-        });
+        assertThat(obterDiplomaService.analyzeScores(inexistentId)).isEmpty();
     }
 
     @Test
-    @DisplayName("Test Exception Throw when StudentDTO is null")
-    void analyzeScores_throwsNullPointerException_whenStudentIsNull() {
-
-        Mockito.when(studentDAO.findById(ArgumentMatchers.any()))
-                .thenReturn(null);
-
-
-        assertThrows(NullPointerException.class, () -> {
-            obterDiplomaService.analyzeScores(studentDTO.getId());
-        });
-    }
-
-    @Test
-    @DisplayName("Test Exception Throw when Invalid StudentDTO name")
-    void analyzeScores_throwsNullPointerException_whenInvalidStudentDTOName() {
-        studentDTO.setStudentName("invalid name");
-        Mockito.when(studentDAO.findById(ArgumentMatchers.any()))
-                .thenReturn(studentDTO);
-
-        assertThrows(NullPointerException.class, () -> {
-            obterDiplomaService.analyzeScores(studentDTO.getId());
-        });
+    @DisplayName("Test batch analysis reports missing students without looking them up by exception")
+    void analyzeScores_batch_reportsMissingStudentsAsErrors() {
+        Mockito.when(studentDAO.find(1L)).thenReturn(Optional.of(studentDTO));
+        Mockito.when(studentDAO.find(999L)).thenReturn(Optional.empty());
+
+        List<DiplomaAnalysisDTO> result = obterDiplomaService.analyzeScores(List.of(1L, 999L));
+
+        assertThat(result).extracting(DiplomaAnalysisDTO::getStudentId).containsExactly(1L, 999L);
+        assertThat(result.get(0).getStudent()).isSameAs(studentDTO);
+        assertThat(result.get(1).getError().getName()).isEqualTo("StudentNotFoundException");
+        assertThat(result.get(1).getError().getDescription()).isEqualTo("O aluno com Id 999 não está registrado.");
+        Mockito.verify(studentDAO, Mockito.never()).findById(Mockito.any());
     }
-
-    @Test
-    @DisplayName("Test Exception Throw when Null Subject List")
-    void analyzeScores_throwsNullPointerException_whenNullSubjectList() {
-        studentDTO.setStudentName("invalid name");
-        Mockito.when(studentDAO.findById(ArgumentMatchers.any()))
-                .thenReturn(studentDTO);
-
-        assertThrows(NullPointerException.class, () -> {
-            obterDiplomaService.analyzeScores(studentDTO.getId());
-        });
-    }
-
-}
\ No newline at end of file
+}
@@ -1,6 +1,9 @@
 package com.meli.obterdiploma.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meli.obterdiploma.exception.StudentNotFoundException;
+import com.meli.obterdiploma.model.BatchItemErrorDTO;
+import com.meli.obterdiploma.model.ImportSummaryDTO;
 import com.meli.obterdiploma.model.StudentDTO;
 import com.meli.obterdiploma.model.SubjectDTO;
 import com.meli.obterdiploma.repository.StudentDAO;
@@ -8,16 +11,23 @@ import com.meli.obterdiploma.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,6 +44,15 @@ class StudentServiceTest {
     @Mock
     StudentRepository studentRepository;
 
+    @Mock
+    Validator validator;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Captor
+    ArgumentCaptor<List<StudentDTO>> batches;
+
     @BeforeEach
     void setup() {
     }
@@ -169,4 +188,35 @@ class StudentServiceTest {
         assertEquals(returnStudentSet, studentSet);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void importAll_savesValidLinesInBoundedBatches_andReportsRejectedLines() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1201; i++) {
+            ndjson.append("{\"studentName\":\"Student ").append(i).append("\",\"subjects\":[{\"name\":\"Math\",\"score\":9.0}]}\n");
+        }
+        ndjson.append("\n{\"studentName\":\n").append("null\n");
+
+        ImportSummaryDTO summary = studentService.importAll(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        Mockito.verify(studentDAO, Mockito.times(3)).saveAll(batches.capture());
+        assertEquals(List.of(500, 500, 201), batches.getAllValues().stream().map(List::size).collect(Collectors.toList()));
+
+        assertEquals(1201, summary.getAccepted());
+        assertEquals(2, summary.getRejected());
+        assertEquals(List.of(1203L, 1204L), summary.getErrors().stream().map(BatchItemErrorDTO::getIndex).collect(Collectors.toList()));
+    }
+
+    @Test
+    void importAll_rejectsLinesOverTheLengthCap_withoutStoppingTheImport() throws Exception {
+        String ndjson = "{\"studentName\":\"" + "A".repeat(StudentService.MAX_IMPORT_LINE_LENGTH) + "\"}\n"
+                + "{\"studentName\":\"John Doe\",\"subjects\":[{\"name\":\"Math\",\"score\":9.0}]}";
+
+        ImportSummaryDTO summary = studentService.importAll(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, summary.getAccepted());
+        assertEquals(1, summary.getRejected());
+        assertEquals(1L, summary.getErrors().get(0).getIndex());
+        assertEquals("line", summary.getErrors().get(0).getErrors().get(0).getName());
+    }
+}